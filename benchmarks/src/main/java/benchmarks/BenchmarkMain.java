@@ -0,0 +1,43 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkMain 类
+ * benchmarks.jar 的入口，接受 JMH 的所有命令行参数.
+ * 总是附加 gc 分析器以报告分配速率（gc.alloc.rate.norm 为每次操作分配的字节数）.
+ * 没有用 -bm 指定模式时运行两遍：吞吐量（ops/s）和采样延迟（us/op，含百分位数）.
+ */
+public final class BenchmarkMain {
+  private BenchmarkMain() {
+  }
+
+  public static void main(String[] args)
+          throws IOException, CommandLineOptionException, RunnerException {
+    CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp() || options.shouldList() || options.shouldListProfilers()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+    if (!options.getBenchModes().isEmpty()) {
+      new Runner(withGc(options).build()).run();
+      return;
+    }
+    new Runner(withGc(options).mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS).build()).run();
+    new Runner(withGc(options).mode(Mode.SampleTime).timeUnit(TimeUnit.MICROSECONDS).build())
+            .run();
+  }
+
+  private static ChainedOptionsBuilder withGc(CommandLineOptions options) {
+    return new OptionsBuilder().parent(options).addProfiler(GCProfiler.class);
+  }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.random.RandomGenerator;
+
+/**
+ * TextGraphApi 类
+ * 被测程序的类都在默认包中，不能从 JMH 要求的具名包中直接引用，因此通过方法句柄调用.
+ * 句柄保存在 static final 字段中并转换为确切类型，用 invokeExact 调用时会被 JIT 内联，
+ * 与直接调用的开销相同.
+ */
+final class TextGraphApi {
+  /** () -> TextGraph. */
+  static final MethodHandle NEW;
+  /** (TextGraph, String filename) -> void. */
+  static final MethodHandle INPUT_GRAPH;
+  /** (TextGraph) -> int. */
+  static final MethodHandle VERTEX_COUNT;
+  /** (TextGraph, String word) -> int. */
+  static final MethodHandle INDEX_OF;
+  /** (TextGraph, String word1, String word2, boolean isPrint) -> String. */
+  static final MethodHandle QUERY_BRIDGE_WORDS;
+  /** (TextGraph, String inputText, boolean isPrint) -> String. */
+  static final MethodHandle GENERATE_NEW_TEXT;
+  /** (TextGraph, String word1, String word2) -> String. */
+  static final MethodHandle CALC_SHORTEST_PATH;
+  /** (TextGraph, int source) -> ShortestPathTree. */
+  static final MethodHandle SHORTEST_PATH_TREE;
+  /** (TextGraph) -> RandomWalkEngine. */
+  static final MethodHandle WALK_ENGINE;
+  /** (RandomWalkEngine, int start, RandomGenerator random) -> int[]. */
+  static final MethodHandle WALK;
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> textGraph = Class.forName("TextGraph");
+      Class<?> tree = Class.forName("ShortestPathTree");
+      Class<?> engine = Class.forName("RandomWalkEngine");
+      NEW = lookup.findConstructor(textGraph, MethodType.methodType(void.class))
+              .asType(MethodType.methodType(Object.class));
+      INPUT_GRAPH = virtual(lookup, textGraph, "inputGraph", void.class, String.class);
+      VERTEX_COUNT = virtual(lookup, textGraph, "vertexCount", int.class);
+      INDEX_OF = virtual(lookup, textGraph, "indexOf", int.class, String.class);
+      QUERY_BRIDGE_WORDS = virtual(lookup, textGraph, "queryBridgeWords", String.class,
+              String.class, String.class, boolean.class);
+      GENERATE_NEW_TEXT = virtual(lookup, textGraph, "generateNewText", String.class,
+              String.class, boolean.class);
+      CALC_SHORTEST_PATH = virtual(lookup, textGraph, "calcShortestPath", String.class,
+              String.class, String.class);
+      SHORTEST_PATH_TREE = lookup.findVirtual(textGraph, "shortestPathTree",
+              MethodType.methodType(tree, int.class))
+              .asType(MethodType.methodType(Object.class, Object.class, int.class));
+      WALK_ENGINE = lookup.findVirtual(textGraph, "walkEngine", MethodType.methodType(engine))
+              .asType(MethodType.methodType(Object.class, Object.class));
+      WALK = virtual(lookup, engine, "walk", int[].class, int.class, RandomGenerator.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private TextGraphApi() {
+  }
+
+  /**
+   * 查找实例方法,接收者类型转换为 Object.
+   */
+  private static MethodHandle virtual(MethodHandles.Lookup lookup, Class<?> owner, String name,
+                                      Class<?> returnType, Class<?>... parameterTypes)
+          throws ReflectiveOperationException {
+    MethodType type = MethodType.methodType(returnType, parameterTypes);
+    return lookup.findVirtual(owner, name, type)
+            .asType(type.insertParameterTypes(0, Object.class));
+  }
+}
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TextGraphBenchmark 类
+ * TextGraph 主要操作的基准测试.
+ * 每组参数先生成一份 Zipf 分布的合成语料并读入图，之后的查询单词也按同一分布随机选择，
+ * 因此高频单词被查询得更多，与实际使用时相同.
+ * 默认报告吞吐量（ops/s）,由 BenchmarkMain 再以采样模式报告延迟分布并附加 gc 分析器.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextGraphBenchmark {
+  private static final long SEED = 20240401L; // 语料的随机种子,每次运行使用相同的语料
+  private static final int SENTENCES = 256; // 预先生成的 generateNewText 输入行数
+  private static final int SENTENCE_LENGTH = 20; // 每行输入的单词数
+
+  @Param({"1000", "10000", "100000"})
+  public int vocabulary; // 单词表大小
+
+  @Param({"100000", "1000000"})
+  public int words; // 语料单词总数
+
+  private ZipfCorpus zipf; // 语料和查询单词的分布
+  private Path corpus; // 语料文件
+  private Object graph; // 由语料构建的 TextGraph
+  private Object walkEngine; // 随机游走引擎
+  private int vertexCount; // 顶点数
+  private String[] sentences; // generateNewText 的输入
+  private PrintStream stdout; // 原来的标准输出
+
+  @Setup(Level.Trial)
+  public void setUp() throws Throwable {
+    zipf = new ZipfCorpus(vocabulary, 1.0);
+    // TextGraph.inputGraph 经过 FilenameUtils.getPath 去掉绝对路径前缀,只能使用相对路径;
+    // 语料写在 target 下的专用目录中,中断的试验不会在模块根目录留下文件
+    Path dir = Files.createDirectories(Path.of("target", "zipf-corpus"));
+    corpus = Files.createTempFile(dir, "zipf-" + vocabulary + "-" + words + "-", ".txt");
+    zipf.write(corpus, words, SEED);
+    stdout = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream())); // 丢弃被测方法的屏幕输出
+    graph = (Object) TextGraphApi.NEW.invokeExact();
+    TextGraphApi.INPUT_GRAPH.invokeExact(graph, corpus.toString());
+    vertexCount = (int) TextGraphApi.VERTEX_COUNT.invokeExact(graph);
+    walkEngine = (Object) TextGraphApi.WALK_ENGINE.invokeExact(graph);
+    SplittableRandom random = new SplittableRandom(SEED);
+    sentences = new String[SENTENCES];
+    for (int i = 0; i < SENTENCES; i++) {
+      sentences[i] = zipf.sentence(random, SENTENCE_LENGTH);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System.setOut(stdout);
+    Files.deleteIfExists(corpus);
+  }
+
+  /**
+   * 每个线程各自的查询随机数.
+   */
+  @State(Scope.Thread)
+  public static class Queries {
+    private final SplittableRandom random = new SplittableRandom(SEED + 1);
+    private int next; // 下一行 generateNewText 输入
+  }
+
+  @Benchmark
+  public Object inputGraph() throws Throwable {
+    Object textGraph = (Object) TextGraphApi.NEW.invokeExact();
+    TextGraphApi.INPUT_GRAPH.invokeExact(textGraph, corpus.toString());
+    return textGraph;
+  }
+
+  @Benchmark
+  public String queryBridgeWords(Queries queries) throws Throwable {
+    return (String) TextGraphApi.QUERY_BRIDGE_WORDS.invokeExact(graph,
+            zipf.sample(queries.random), zipf.sample(queries.random), false);
+  }
+
+  @Benchmark
+  public String generateNewText(Queries queries) throws Throwable {
+    String text = sentences[queries.next++ & (SENTENCES - 1)];
+    return (String) TextGraphApi.GENERATE_NEW_TEXT.invokeExact(graph, text, false);
+  }
+
+  /**
+   * 经过结果缓存的最短路径查询,与用户调用时相同.
+   */
+  @Benchmark
+  public String calcShortestPath(Queries queries) throws Throwable {
+    return (String) TextGraphApi.CALC_SHORTEST_PATH.invokeExact(graph,
+            zipf.sample(queries.random), zipf.sample(queries.random));
+  }
+
+  /**
+   * 不经过缓存的单源最短路径搜索.
+   */
+  @Benchmark
+  public Object shortestPathTree(Queries queries) throws Throwable {
+    int source = (int) TextGraphApi.INDEX_OF.invokeExact(graph, zipf.sample(queries.random));
+    return (Object) TextGraphApi.SHORTEST_PATH_TREE.invokeExact(graph, Math.max(source, 0));
+  }
+
+  /**
+   * randomWalk 去掉逐步输出和等待按键后的游走部分.
+   */
+  @Benchmark
+  public int[] randomWalk(Queries queries) throws Throwable {
+    return (int[]) TextGraphApi.WALK.invokeExact(walkEngine,
+            queries.random.nextInt(vertexCount), (RandomGenerator) queries.random);
+  }
+}
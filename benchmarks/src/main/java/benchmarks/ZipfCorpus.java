@@ -0,0 +1,103 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * ZipfCorpus 类
+ * 按 Zipf 分布生成的合成语料：第 r 个单词（r 从 0 开始）出现的概率与 1 / (r + 1)^s 成正比.
+ * 单词只由小写字母组成，按出现概率从高到低排列，与真实文本中少数单词占大多数的特点一致.
+ * 相同的参数和种子总是生成相同的语料，无需下载任何数据.
+ */
+public final class ZipfCorpus {
+  private static final int WORDS_PER_LINE = 20; // 每行的单词数
+  private final String[] words; // 按出现概率从高到低排列的单词
+  private final double[] cumulative; // 累积概率,最后一项为 1
+
+  /**
+   * 构造函数.
+   *
+   * @param vocabulary 单词数.
+   * @param exponent   Zipf 指数 s,自然语言约为 1.
+   */
+  public ZipfCorpus(int vocabulary, double exponent) {
+    words = new String[vocabulary];
+    cumulative = new double[vocabulary];
+    double sum = 0;
+    for (int r = 0; r < vocabulary; r++) {
+      words[r] = word(r);
+      sum += 1 / Math.pow(r + 1, exponent);
+      cumulative[r] = sum;
+    }
+    for (int r = 0; r < vocabulary; r++) {
+      cumulative[r] /= sum;
+    }
+  }
+
+  /**
+   * 第 r 个单词：以 26 为基数的双射记数，a, b, ..., z, aa, ab, ...
+   */
+  private static String word(int r) {
+    StringBuilder word = new StringBuilder();
+    for (int n = r + 1; n > 0; n = (n - 1) / 26) {
+      word.append((char) ('a' + (n - 1) % 26));
+    }
+    return word.reverse().toString();
+  }
+
+  public int vocabulary() {
+    return words.length;
+  }
+
+  /**
+   * 按 Zipf 分布随机选择一个单词.
+   *
+   * @param random 随机数生成器.
+   * @return 单词.
+   */
+  public String sample(SplittableRandom random) {
+    int r = Arrays.binarySearch(cumulative, random.nextDouble());
+    return words[Math.min(r < 0 ? -r - 1 : r, words.length - 1)];
+  }
+
+  /**
+   * 生成由随机单词组成的一行文本.
+   *
+   * @param random 随机数生成器.
+   * @param length 单词数.
+   * @return 以空格分隔的单词.
+   */
+  public String sentence(SplittableRandom random, int length) {
+    StringBuilder sentence = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        sentence.append(' ');
+      }
+      sentence.append(sample(random));
+    }
+    return sentence.toString();
+  }
+
+  /**
+   * 把语料写入文件,每行 20 个单词.
+   *
+   * @param file  文件路径.
+   * @param count 单词总数.
+   * @param seed  随机种子.
+   * @throws IOException 文件写入异常.
+   */
+  public void write(Path file, int count, long seed) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed);
+    try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (int i = 0; i < count; i += WORDS_PER_LINE) {
+        out.write(sentence(random, Math.min(WORDS_PER_LINE, count - i)));
+        out.write('\n');
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * AllPairsDistances 类
+ * 所有单词对之间的最短距离.
+ * 在 fork-join 线程池中并行地从每个顶点计算单源最短路径，每个源点的距离保存为一行.
+ * 距离上限（所有边权重之和）小于 65535 时每个距离占 2 字节，否则占 4 字节.
+ * 行按块（每块不超过 1GB）保存在 ByteBuffer 中：在内存中计算时使用堆内缓冲区，
+ * 写入文件时每块是文件的一段内存映射，V 较大时不占用堆内存，之后可用 open 重新映射.
+ * 文件布局（小端序）：16 字节文件头（魔数、版本号、顶点数 V、每个距离的字节数），之后是 V 行距离.
+ * 计算完成后只读，可被多个线程并发查询.
+ */
+public final class AllPairsDistances {
+  /** 魔数 "APSP". */
+  public static final int MAGIC = 0x41505350;
+  /** 当前格式版本. */
+  public static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16; // 文件头字节数
+  private static final long TILE_BYTES = 1L << 30; // 每块的最大字节数
+  private static final int SHORT_UNREACHABLE = 0xFFFF; // 2 字节距离中表示不可达
+  private final int vertexCount; // 顶点数
+  private final int cellBytes; // 每个距离的字节数,2 或 4
+  private final int rowsPerTile; // 每块的行数
+  private final ByteBuffer[] tiles; // 按行分块的距离
+
+  private AllPairsDistances(int vertexCount, int cellBytes, ByteBuffer[] tiles) {
+    this.vertexCount = vertexCount;
+    this.cellBytes = cellBytes;
+    this.rowsPerTile = rowsPerTile(vertexCount, cellBytes);
+    this.tiles = tiles;
+  }
+
+  private static int rowsPerTile(int n, int cellBytes) {
+    return (int) Math.max(1, Math.min(n, TILE_BYTES / Math.max(1L * n * cellBytes, 1)));
+  }
+
+  private static int cellBytes(GraphStorage graph) {
+    long bound = 0;
+    for (int e = 0; e < graph.edgeCount(); e++) {
+      bound += graph.weight(e);
+    }
+    return bound < SHORT_UNREACHABLE ? 2 : 4;
+  }
+
+  /**
+   * 距离表的字节数,不包括文件头.
+   *
+   * @param graph 邻接存储.
+   * @return V * V * 每个距离的字节数.
+   */
+  static long tableBytes(GraphStorage graph) {
+    long n = graph.vertexCount();
+    return n * n * cellBytes(graph);
+  }
+
+  /**
+   * 在内存中计算.
+   *
+   * @param graph 不可变的邻接存储.
+   * @param pool  线程池.
+   * @return 所有单词对之间的距离.
+   */
+  public static AllPairsDistances compute(GraphStorage graph, ForkJoinPool pool) {
+    int n = graph.vertexCount();
+    int cellBytes = cellBytes(graph);
+    int rows = rowsPerTile(n, cellBytes);
+    ByteBuffer[] tiles = new ByteBuffer[(n + rows - 1) / rows];
+    for (int i = 0; i < tiles.length; i++) {
+      int count = Math.min(rows, n - i * rows);
+      tiles[i] = ByteBuffer.allocate(count * n * cellBytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    AllPairsDistances distances = new AllPairsDistances(n, cellBytes, tiles);
+    distances.fill(graph, pool);
+    return distances;
+  }
+
+  /**
+   * 计算并写入文件,距离直接写入文件的内存映射,不占用堆内存.
+   *
+   * @param graph 不可变的邻接存储.
+   * @param pool  线程池.
+   * @param file  文件路径,已存在时覆盖.
+   * @return 映射到文件的所有单词对之间的距离.
+   * @throws IOException 文件读写异常.
+   */
+  public static AllPairsDistances compute(GraphStorage graph, ForkJoinPool pool, Path file)
+          throws IOException {
+    int n = graph.vertexCount();
+    int cellBytes = cellBytes(graph);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(cellBytes).flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      AllPairsDistances distances = new AllPairsDistances(n, cellBytes,
+              map(channel, n, cellBytes, FileChannel.MapMode.READ_WRITE));
+      distances.fill(graph, pool);
+      for (ByteBuffer tile : distances.tiles) {
+        ((MappedByteBuffer) tile).force();
+      }
+      return distances;
+    }
+  }
+
+  /**
+   * 以内存映射方式打开已写入的文件.
+   *
+   * @param file 文件路径.
+   * @return 所有单词对之间的距离.
+   * @throws IOException 文件读写异常或文件格式不受支持.
+   */
+  public static AllPairsDistances open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+        continue;
+      }
+      if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+        throw new IOException("Not a distance file: " + file);
+      }
+      if (header.getInt(4) != VERSION) {
+        throw new IOException("Unsupported distance file version " + header.getInt(4) + ": "
+                + file);
+      }
+      int n = header.getInt(8);
+      int cellBytes = header.getInt(12);
+      if (HEADER_SIZE + (long) n * n * cellBytes > channel.size()) {
+        throw new IOException("Truncated distance file.");
+      }
+      return new AllPairsDistances(n, cellBytes,
+              map(channel, n, cellBytes, FileChannel.MapMode.READ_ONLY));
+    }
+  }
+
+  private static ByteBuffer[] map(FileChannel channel, int n, int cellBytes,
+                                  FileChannel.MapMode mode) throws IOException {
+    int rows = rowsPerTile(n, cellBytes);
+    ByteBuffer[] tiles = new ByteBuffer[(n + rows - 1) / rows];
+    long rowBytes = (long) n * cellBytes;
+    for (int i = 0; i < tiles.length; i++) {
+      int count = Math.min(rows, n - i * rows);
+      tiles[i] = channel.map(mode, HEADER_SIZE + i * rows * rowBytes, count * rowBytes)
+              .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return tiles;
+  }
+
+  /**
+   * 并行计算每一行,不同的行写入缓冲区中互不重叠的区域.
+   */
+  private void fill(GraphStorage graph, ForkJoinPool pool) {
+    try {
+      pool.submit(() -> IntStream.range(0, vertexCount).parallel().forEach(source -> {
+        ShortestPathTree tree = ShortestPathTree.compute(graph, source);
+        ByteBuffer tile = tiles[source / rowsPerTile];
+        int base = (source % rowsPerTile) * vertexCount * cellBytes;
+        for (int target = 0; target < vertexCount; target++) {
+          put(tile, base + target * cellBytes, tree.distance(target));
+        }
+      })).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("All-pairs computation interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("All-pairs computation failed.", e.getCause());
+    }
+  }
+
+  private void put(ByteBuffer tile, int offset, int distance) {
+    if (cellBytes == 2) {
+      tile.putShort(offset, (short) (distance == ShortestPathTree.UNREACHABLE
+              ? SHORT_UNREACHABLE : distance));
+    } else {
+      tile.putInt(offset, distance);
+    }
+  }
+
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * 两点之间的最短距离.
+   *
+   * @param source 源点编号.
+   * @param target 终点编号.
+   * @return 距离,不可达时返回 ShortestPathTree.UNREACHABLE.
+   */
+  public int distance(int source, int target) {
+    ByteBuffer tile = tiles[source / rowsPerTile];
+    int offset = ((source % rowsPerTile) * vertexCount + target) * cellBytes;
+    if (cellBytes == 2) {
+      int d = tile.getShort(offset) & 0xFFFF;
+      return d == SHORT_UNREACHABLE ? ShortestPathTree.UNREACHABLE : d;
+    }
+    return tile.getInt(offset);
+  }
+
+  /**
+   * 源点到所有顶点的距离.
+   *
+   * @param source 源点编号.
+   * @return 按顶点编号排列的距离,不可达时为 ShortestPathTree.UNREACHABLE.
+   */
+  public int[] row(int source) {
+    int[] row = new int[vertexCount];
+    for (int target = 0; target < vertexCount; target++) {
+      row[target] = distance(source, target);
+    }
+    return row;
+  }
+
+  /**
+   * 距离最近的 k 个顶点,不包括源点本身和不可达的顶点.
+   *
+   * @param source 源点编号.
+   * @param k      顶点数.
+   * @return 按距离升序排列的顶点编号,距离相同时编号小的在前.
+   */
+  public int[] nearest(int source, int k) {
+    return ShortestPathTree.nearest(target -> distance(source, target), vertexCount, source, k);
+  }
+}
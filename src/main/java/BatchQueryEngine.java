@@ -0,0 +1,332 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * BatchQueryEngine 类
+ * 无界面的批量查询引擎.
+ * 从输入流逐行读取查询，按块分发到线程池并行计算，再按输入顺序写出结果.
+ * 查询格式（每行一条）：
+ * 1. bridge word1 word2       查询桥接词,结果为空格分隔的桥接词
+ * 2. generate text...         生成新文本,结果为新文本
+ * 3. path word1 [word2]       计算最短路径,结果为 "a->b->c (距离)",省略 word2 时输出到所有单词的路径,以 "; " 分隔
+ * 无结果时输出空行，无法识别的查询输出以 "ERROR" 开头的行.
+ * 也可以把结构化结果交给 ResultWriter 写出，例如每条查询一行 JSON.
+ * 每块查询在开始时取得一次快照，快照被替换时进行中的块仍使用旧快照.
+ * 生成新文本默认使用各线程的 ThreadLocalRandom；指定种子时每块使用按提交顺序拆分出的生成器，
+ * 相同的种子和输入总是得到相同的输出，与线程数无关.
+ */
+public class BatchQueryEngine {
+  private static final int BLOCK_SIZE = 1024; // 每个任务处理的查询数
+  private final Supplier<GraphSnapshot> graphs; // 提供当前快照
+  private final int threads; // 线程数
+  private final SplittableRandom seeds; // 每块随机数生成器的来源,为 null 时使用 ThreadLocalRandom
+
+  /**
+   * 构造函数.
+   *
+   * @param graph   不可变的图快照.
+   * @param threads 线程数.
+   */
+  public BatchQueryEngine(GraphSnapshot graph, int threads) {
+    this(() -> graph, threads);
+  }
+
+  /**
+   * 构造函数.
+   *
+   * @param graphs  提供当前快照,例如 GraphHolder::current.
+   * @param threads 线程数.
+   */
+  public BatchQueryEngine(Supplier<GraphSnapshot> graphs, int threads) {
+    this.graphs = graphs;
+    this.threads = Math.max(threads, 1);
+    this.seeds = null;
+  }
+
+  /**
+   * 构造函数
+   * 使用给定的随机数种子，输出可重现.
+   *
+   * @param graphs  提供当前快照.
+   * @param threads 线程数.
+   * @param seed    随机数种子.
+   */
+  public BatchQueryEngine(Supplier<GraphSnapshot> graphs, int threads, long seed) {
+    this.graphs = graphs;
+    this.threads = Math.max(threads, 1);
+    this.seeds = new SplittableRandom(seed);
+  }
+
+  /**
+   * 执行批量查询.
+   *
+   * @param in  查询输入,每行一条查询.
+   * @param out 结果输出,每行一条结果,与查询一一对应.
+   * @return 运行统计.
+   * @throws IOException 文件读写异常.
+   */
+  public Report run(BufferedReader in, Writer out) throws IOException {
+    return run(in, new LineWriter(out));
+  }
+
+  /**
+   * 执行批量查询,结构化结果由 out 格式化,例如 JsonLinesResultWriter.
+   *
+   * @param in  查询输入,每行一条查询.
+   * @param out 结果输出,每条查询写出一个结果;结束时 flush,不关闭.
+   * @return 运行统计.
+   * @throws IOException 文件读写异常.
+   */
+  public Report run(BufferedReader in, ResultWriter out) throws IOException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    Deque<Future<Block>> pending = new ArrayDeque<>(); // 按提交顺序排列的未写出块
+    LatencyHistogram latency = new LatencyHistogram();
+    long start = System.nanoTime();
+    try {
+      List<String> queries = new ArrayList<>(BLOCK_SIZE);
+      for (String line = in.readLine(); line != null; line = in.readLine()) {
+        queries.add(line);
+        if (queries.size() == BLOCK_SIZE) {
+          List<String> block = queries;
+          RandomGenerator random = nextRandom();
+          pending.add(pool.submit(() -> evaluate(block, random)));
+          queries = new ArrayList<>(BLOCK_SIZE);
+          while (pending.size() >= threads * 4) { // 限制在途块数,内存与输入大小无关
+            write(pending.poll(), out, latency);
+          }
+        }
+      }
+      if (!queries.isEmpty()) {
+        List<String> block = queries;
+        RandomGenerator random = nextRandom();
+        pending.add(pool.submit(() -> evaluate(block, random)));
+      }
+      while (!pending.isEmpty()) {
+        write(pending.poll(), out, latency);
+      }
+      out.flush();
+    } finally {
+      pool.shutdownNow();
+    }
+    return new Report(latency, System.nanoTime() - start);
+  }
+
+  /**
+   * 在提交线程中按顺序拆分,保证可重现.
+   */
+  private RandomGenerator nextRandom() {
+    return seeds == null ? null : seeds.split();
+  }
+
+  private static void write(Future<Block> future, ResultWriter out, LatencyHistogram latency)
+          throws IOException {
+    Block block;
+    try {
+      block = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Batch query interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Batch query failed.", e.getCause());
+    }
+    for (QueryResult result : block.results) {
+      out.write(result);
+    }
+    latency.merge(block.latency);
+  }
+
+  private Block evaluate(List<String> queries, RandomGenerator random) {
+    Block block = new Block(queries.size());
+    GraphSnapshot graph = graphs.get();
+    if (random == null) {
+      random = ThreadLocalRandom.current();
+    }
+    for (String query : queries) {
+      long begin = System.nanoTime();
+      QueryResult result;
+      try {
+        result = query(graph, query, random);
+      } catch (RuntimeException e) {
+        result = QueryResult.error(null, e.toString()); // 单条查询出错不影响其他查询
+      }
+      block.results.add(result);
+      block.latency.record(System.nanoTime() - begin);
+    }
+    return block;
+  }
+
+  /**
+   * 计算一条查询.
+   *
+   * @param graph  图快照.
+   * @param query  查询.
+   * @param random 随机数生成器,用于生成新文本.
+   * @return 结构化结果.
+   */
+  static QueryResult query(GraphSnapshot graph, String query, RandomGenerator random) {
+    String[] parts = query.trim().split("\\s+", 2);
+    String args = parts.length > 1 ? parts[1] : "";
+    switch (parts[0]) {
+      case "bridge": {
+        String[] words = args.split("\\s+");
+        if (words.length != 2) {
+          return QueryResult.error(QueryResult.Kind.BRIDGE, "bridge needs two words");
+        }
+        int v1 = graph.indexOf(words[0]);
+        int v2 = graph.indexOf(words[1]);
+        if (v1 == -1 || v2 == -1) {
+          return QueryResult.missing(QueryResult.Kind.BRIDGE, words[0], words[1],
+                  v1 == -1 ? words[0] : words[1]);
+        }
+        List<String> bridges = new ArrayList<>();
+        for (int bridge : graph.bridgeIds(v1, v2)) {
+          bridges.add(graph.wordOf(bridge));
+        }
+        return QueryResult.bridge(words[0], words[1], bridges);
+      }
+      case "generate":
+        return QueryResult.generated(args, args.isEmpty() ? "" : graph.generateNewText(args, random));
+      case "path": {
+        String[] words = args.split("\\s+");
+        if (words.length < 1 || words.length > 2 || words[0].isEmpty()) {
+          return QueryResult.error(QueryResult.Kind.PATH, "path needs one or two words");
+        }
+        return graph.shortestPaths(words[0], words.length > 1 ? words[1] : "");
+      }
+      default:
+        return QueryResult.error(null, "unknown query: " + query);
+    }
+  }
+
+  /**
+   * 批量模式的一行文本:桥接词以空格分隔,路径为 "a->b->c (距离)",
+   * 到所有单词的路径只列出可达的并以 "; " 分隔,没有结果时为空行.
+   */
+  private static String line(QueryResult result) {
+    switch (result.status()) {
+      case ERROR:
+        return "ERROR " + result.text();
+      case OK:
+        break;
+      default:
+        return "";
+    }
+    switch (result.kind()) {
+      case BRIDGE:
+        return String.join(" ", result.words());
+      case GENERATE:
+        return result.text();
+      case PATH: {
+        if (result.target() != null) {
+          return String.join("->", result.words()) + " (" + result.distance() + ")";
+        }
+        StringBuilder all = new StringBuilder();
+        for (QueryResult path : result.paths()) {
+          if (path.status() == QueryResult.Status.OK) {
+            if (!all.isEmpty()) {
+              all.append("; ");
+            }
+            all.append(line(path));
+          }
+        }
+        return all.toString();
+      }
+      default:
+        return String.join(" ", result.words());
+    }
+  }
+
+  /**
+   * 以批量模式的文本格式逐行写出结果.
+   */
+  private static final class LineWriter implements ResultWriter {
+    private final Writer out;
+
+    private LineWriter(Writer out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(QueryResult result) throws IOException {
+      out.write(line(result));
+      out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+
+  /**
+   * 一块查询的结果和延迟.
+   */
+  private static final class Block {
+    private final List<QueryResult> results;
+    private final LatencyHistogram latency;
+
+    private Block(int size) {
+      results = new ArrayList<>(size);
+      latency = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Report 类
+   * 批量查询的运行统计：吞吐量与延迟分位数.
+   */
+  public static final class Report {
+    private final LatencyHistogram latency; // 单条查询延迟
+    private final long elapsedNanos; // 总耗时
+
+    private Report(LatencyHistogram latency, long elapsedNanos) {
+      this.latency = latency;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public long queries() {
+      return latency.count();
+    }
+
+    public LatencyHistogram latency() {
+      return latency;
+    }
+
+    /**
+     * 吞吐量.
+     *
+     * @return 每秒查询数.
+     */
+    public double throughput() {
+      return elapsedNanos == 0 ? 0 : latency.count() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d queries in %.3f s, %.0f queries/s, latency(us) "
+                      + "p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+              latency.count(), elapsedNanos / 1e9, throughput(),
+              latency.percentile(50) / 1e3, latency.percentile(90) / 1e3,
+              latency.percentile(99) / 1e3, latency.percentile(99.9) / 1e3,
+              latency.max() / 1e3);
+    }
+  }
+}
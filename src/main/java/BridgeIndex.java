@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * BridgeIndex 类
+ * 桥接词索引.
+ * 为每个顶点保存按编号排序的出邻居和入邻居，
+ * word1 到 word2 的桥接词即 word1 的出邻居与 word2 的入邻居的交集，
+ * 查询只访问这两个列表，不再扫描全部顶点.
+ * 图中新增边时可用 addEdge 增量维护，代价与两端顶点的度数成正比.
+ */
+public final class BridgeIndex {
+  private static final int[] NONE = new int[0]; // 无桥接词
+  private int[][] outNeighbors; // 每个顶点排序后的出邻居
+  private int[] outDegrees; // 出邻居个数
+  private int[][] inNeighbors; // 每个顶点排序后的入邻居
+  private int[] inDegrees; // 入邻居个数
+
+  /**
+   * 构造函数
+   * 根据邻接存储建立索引.
+   *
+   * @param graph 邻接存储.
+   */
+  public BridgeIndex(GraphStorage graph) {
+    int n = graph.vertexCount();
+    outNeighbors = new int[n][];
+    outDegrees = new int[n];
+    inNeighbors = new int[n][];
+    inDegrees = new int[n];
+    for (int v = 0; v < n; v++) {
+      int[] out = new int[graph.outDegree(v)];
+      for (int i = 0; i < out.length; i++) {
+        out[i] = graph.target(graph.outEdge(v, i));
+      }
+      Arrays.sort(out);
+      outNeighbors[v] = out;
+      outDegrees[v] = out.length;
+      int[] in = new int[graph.inDegree(v)];
+      for (int i = 0; i < in.length; i++) {
+        in[i] = graph.source(graph.inEdge(v, i));
+      }
+      Arrays.sort(in);
+      inNeighbors[v] = in;
+      inDegrees[v] = in.length;
+    }
+  }
+
+  /**
+   * 加入一条新边.
+   * 边已在索引中时不做任何修改.
+   *
+   * @param u 起点编号.
+   * @param v 终点编号.
+   */
+  public void addEdge(int u, int v) {
+    int n = Math.max(u, v) + 1;
+    if (n > outDegrees.length) {
+      int capacity = Math.max(n, outDegrees.length * 2);
+      outNeighbors = Arrays.copyOf(outNeighbors, capacity);
+      outDegrees = Arrays.copyOf(outDegrees, capacity);
+      inNeighbors = Arrays.copyOf(inNeighbors, capacity);
+      inDegrees = Arrays.copyOf(inDegrees, capacity);
+    }
+    int pos = Arrays.binarySearch(outNeighbors[u] == null ? NONE : outNeighbors[u], 0,
+            outDegrees[u], v);
+    if (pos >= 0) {
+      return;
+    }
+    outNeighbors[u] = insert(outNeighbors[u], outDegrees[u]++, -pos - 1, v);
+    pos = Arrays.binarySearch(inNeighbors[v] == null ? NONE : inNeighbors[v], 0, inDegrees[v], u);
+    inNeighbors[v] = insert(inNeighbors[v], inDegrees[v]++, -pos - 1, u);
+  }
+
+  /**
+   * 查询桥接词.
+   *
+   * @param v1 单词1的顶点编号.
+   * @param v2 单词2的顶点编号.
+   * @return 按编号升序排列的桥接词编号,没有时返回空数组.
+   */
+  public int[] bridges(int v1, int v2) {
+    if (v1 >= outDegrees.length || v2 >= inDegrees.length) {
+      return NONE;
+    }
+    int lenA = outDegrees[v1];
+    int lenB = inDegrees[v2];
+    if (lenA == 0 || lenB == 0) {
+      return NONE;
+    }
+    int[] out = outNeighbors[v1];
+    int[] in = inNeighbors[v2];
+    int[] result = new int[Math.min(lenA, lenB)];
+    int count = 0;
+    if (lenA > 16 * lenB || lenB > 16 * lenA) {
+      // 长度相差悬殊时,用短列表在长列表中二分查找
+      int[] small = lenA < lenB ? out : in;
+      int[] large = lenA < lenB ? in : out;
+      int smallLength = Math.min(lenA, lenB);
+      int largeLength = Math.max(lenA, lenB);
+      int from = 0;
+      for (int i = 0; i < smallLength && from < largeLength; i++) {
+        int pos = Arrays.binarySearch(large, from, largeLength, small[i]);
+        if (pos >= 0) {
+          result[count++] = small[i];
+          from = pos + 1;
+        } else {
+          from = -pos - 1;
+        }
+      }
+    } else {
+      // 归并求交集
+      int a = 0;
+      int b = 0;
+      while (a < lenA && b < lenB) {
+        if (out[a] < in[b]) {
+          a++;
+        } else if (out[a] > in[b]) {
+          b++;
+        } else {
+          result[count++] = out[a];
+          a++;
+          b++;
+        }
+      }
+    }
+    return count == 0 ? NONE : Arrays.copyOf(result, count);
+  }
+
+  private static int[] insert(int[] list, int size, int pos, int value) {
+    if (list == null || list.length == 0) {
+      list = new int[2];
+    } else if (size == list.length) {
+      list = Arrays.copyOf(list, size * 2);
+    }
+    System.arraycopy(list, pos, list, pos + 1, size - pos);
+    list[pos] = value;
+    return list;
+  }
+}
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BulkWalkGenerator 类
+ * 并行批量生成随机游走，用作训练序列.
+ * 游走按编号分块，每块由线程池中的一个任务生成到自己的字符缓冲区，再按编号顺序整块写出.
+ * 每块使用从种子依次拆分（SplittableRandom.split）得到的独立随机数生成器，
+ * 因此相同的种子总是得到相同的输出，与线程数无关.
+ * 输出每行一条游走，单词之间用空格分隔.
+ */
+public class BulkWalkGenerator {
+  private static final int BLOCK_SIZE = 4096; // 每个任务生成的游走数
+  private final GraphSnapshot graph; // 图快照
+  private final RandomWalkEngine engine; // 随机游走引擎
+  private final int threads; // 线程数
+
+  /**
+   * 构造函数
+   * 在快照上建立别名表.
+   *
+   * @param graph   不可变的图快照.
+   * @param threads 线程数.
+   */
+  public BulkWalkGenerator(GraphSnapshot graph, int threads) {
+    this.graph = graph;
+    this.engine = new RandomWalkEngine(graph.storage());
+    this.threads = Math.max(threads, 1);
+  }
+
+  /**
+   * 从每个顶点出发各生成若干条游走.
+   * 按顶点编号顺序输出，同一起点的游走相邻.
+   *
+   * @param walksPerVertex 每个顶点的游走数.
+   * @param maxLength      每条游走最多经过的顶点数.
+   * @param seed           随机数种子.
+   * @param out            结果输出,由调用者负责关闭.
+   * @return 写出的游走数.
+   * @throws IOException 文件读写异常.
+   */
+  public long walksPerVertex(int walksPerVertex, int maxLength, long seed, Writer out)
+          throws IOException {
+    return run((long) walksPerVertex * graph.vertexCount(), walksPerVertex, maxLength, seed, out);
+  }
+
+  /**
+   * 生成给定条数的游走,起点均匀随机选择.
+   *
+   * @param total     游走数.
+   * @param maxLength 每条游走最多经过的顶点数.
+   * @param seed      随机数种子.
+   * @param out       结果输出,由调用者负责关闭.
+   * @return 写出的游走数.
+   * @throws IOException 文件读写异常.
+   */
+  public long totalWalks(long total, int maxLength, long seed, Writer out) throws IOException {
+    return run(graph.vertexCount() == 0 ? 0 : total, 0, maxLength, seed, out);
+  }
+
+  /**
+   * 生成编号为 [0, total) 的游走.
+   *
+   * @param perVertex 大于 0 时第 i 条游走从顶点 i / perVertex 出发,否则随机选择起点.
+   */
+  private long run(long total, int perVertex, int maxLength, long seed, Writer out)
+          throws IOException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    ThreadLocal<RandomWalkEngine.Walker> walkers = ThreadLocal.withInitial(engine::walker);
+    Deque<Future<StringBuilder>> pending = new ArrayDeque<>(); // 按提交顺序排列的未写出块
+    SplittableRandom seeds = new SplittableRandom(seed);
+    try {
+      for (long from = 0; from < total; from += BLOCK_SIZE) {
+        long begin = from;
+        long end = Math.min(from + BLOCK_SIZE, total);
+        SplittableRandom random = seeds.split(); // 在提交线程中按顺序拆分,保证可重现
+        pending.add(pool.submit(() -> generate(walkers.get(), random, begin, end,
+                perVertex, maxLength)));
+        while (pending.size() >= threads * 4) { // 限制在途块数,内存与游走数无关
+          write(pending.poll(), out);
+        }
+      }
+      while (!pending.isEmpty()) {
+        write(pending.poll(), out);
+      }
+      out.flush();
+    } finally {
+      pool.shutdownNow();
+    }
+    return total;
+  }
+
+  private StringBuilder generate(RandomWalkEngine.Walker walker, SplittableRandom random,
+                                 long begin, long end, int perVertex, int maxLength) {
+    StringBuilder block = new StringBuilder();
+    for (long i = begin; i < end; i++) {
+      int start = perVertex > 0 ? (int) (i / perVertex) : random.nextInt(graph.vertexCount());
+      walker.walk(start, random, maxLength);
+      for (int k = 0; k < walker.length(); k++) {
+        if (k > 0) {
+          block.append(' ');
+        }
+        block.append(graph.wordOf(walker.vertex(k)));
+      }
+      block.append('\n');
+    }
+    return block;
+  }
+
+  private static void write(Future<StringBuilder> future, Writer out) throws IOException {
+    try {
+      out.append(future.get()); // 整块写出
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Walk generation interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Walk generation failed.", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,71 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentLatencyHistogram 类
+ * 可被多个线程同时记录的延迟直方图，分桶方式与 LatencyHistogram 相同.
+ * 记录一个值只需几次无锁原子加法，不分配对象.
+ * snapshot 在记录进行时也可调用，得到的各项统计之间可能相差正在记录的几个值.
+ */
+public final class ConcurrentLatencyHistogram {
+  private final AtomicLongArray counts; // 各桶计数
+  private final LongAdder count; // 记录次数
+  private final LongAdder sum; // 总和
+  private final LongAccumulator max; // 最大值
+
+  /**
+   * 构造函数
+   * 初始化空直方图.
+   */
+  public ConcurrentLatencyHistogram() {
+    counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+    count = new LongAdder();
+    sum = new LongAdder();
+    max = new LongAccumulator(Math::max, 0);
+  }
+
+  /**
+   * 记录一个值.
+   *
+   * @param value 延迟,单位纳秒,负数按 0 处理.
+   */
+  public void record(long value) {
+    value = Math.max(value, 0);
+    counts.incrementAndGet(LatencyHistogram.bucketOf(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * 复制当前的统计.
+   *
+   * @return 独立的直方图,之后的记录不影响它.
+   */
+  public LatencyHistogram snapshot() {
+    long[] copy = new long[LatencyHistogram.BUCKETS];
+    long total = 0;
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new LatencyHistogram(copy, total, sum.sum(), max.get());
+  }
+
+  /**
+   * 清空统计.
+   */
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+}
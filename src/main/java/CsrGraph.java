@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * CsrGraph 类
+ * 不可变的压缩稀疏行（CSR）邻接存储.
+ * 边按起点分组、组内按终点升序编号，入边列表按起点升序保存边编号；
+ * 所有数组在构造后不再修改，可被任意多个线程无锁并发读取.
+ */
+public final class CsrGraph implements GraphStorage {
+  private final int[] outOffsets; // 出边起始位置,长度 V+1,边编号即数组下标
+  private final int[] sources; // 边的起点
+  private final int[] targets; // 边的终点
+  private final int[] weights; // 边的权重
+  private final int[] inOffsets; // 入边起始位置,长度 V+1
+  private final int[] inEdges; // 入边编号
+
+  CsrGraph(int[] outOffsets, int[] sources, int[] targets, int[] weights,
+           int[] inOffsets, int[] inEdges) {
+    this.outOffsets = outOffsets;
+    this.sources = sources;
+    this.targets = targets;
+    this.weights = weights;
+    this.inOffsets = inOffsets;
+    this.inEdges = inEdges;
+  }
+
+  /**
+   * 复制任意邻接存储为 CSR 格式.
+   *
+   * @param graph 邻接存储.
+   * @return 不可变的副本.
+   */
+  public static CsrGraph copyOf(GraphStorage graph) {
+    int n = graph.vertexCount();
+    int m = graph.edgeCount();
+    int[] outOffsets = new int[n + 1];
+    int[] sources = new int[m];
+    int[] targets = new int[m];
+    int[] weights = new int[m];
+    long[] row = new long[0]; // (终点 << 32) | 权重,用于行内排序
+    for (int v = 0; v < n; v++) {
+      int degree = graph.outDegree(v);
+      if (row.length < degree) {
+        row = new long[Math.max(degree, row.length * 2)];
+      }
+      for (int i = 0; i < degree; i++) {
+        int e = graph.outEdge(v, i);
+        row[i] = ((long) graph.target(e) << 32) | (graph.weight(e) & 0xffffffffL);
+      }
+      Arrays.sort(row, 0, degree);
+      int base = outOffsets[v];
+      for (int i = 0; i < degree; i++) {
+        sources[base + i] = v;
+        targets[base + i] = (int) (row[i] >>> 32);
+        weights[base + i] = (int) row[i];
+      }
+      outOffsets[v + 1] = base + degree;
+    }
+    return new CsrGraph(outOffsets, sources, targets, weights, n);
+  }
+
+  /**
+   * 由出边数组建立入边列表.
+   */
+  private CsrGraph(int[] outOffsets, int[] sources, int[] targets, int[] weights, int n) {
+    this(outOffsets, sources, targets, weights, new int[n + 1], new int[targets.length]);
+    for (int target : targets) {
+      inOffsets[target + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      inOffsets[v + 1] += inOffsets[v];
+    }
+    int[] next = Arrays.copyOf(inOffsets, n);
+    for (int e = 0; e < targets.length; e++) { // 边编号按起点升序,入边列表因此也按起点有序
+      inEdges[next[targets[e]]++] = e;
+    }
+  }
+
+  @Override
+  public int vertexCount() {
+    return outOffsets.length - 1;
+  }
+
+  @Override
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  @Override
+  public int outDegree(int v) {
+    return outOffsets[v + 1] - outOffsets[v];
+  }
+
+  @Override
+  public int outEdge(int v, int i) {
+    return outOffsets[v] + i;
+  }
+
+  @Override
+  public int inDegree(int v) {
+    return inOffsets[v + 1] - inOffsets[v];
+  }
+
+  @Override
+  public int inEdge(int v, int i) {
+    return inEdges[inOffsets[v] + i];
+  }
+
+  @Override
+  public int source(int e) {
+    return sources[e];
+  }
+
+  @Override
+  public int target(int e) {
+    return targets[e];
+  }
+
+  @Override
+  public int weight(int e) {
+    return weights[e];
+  }
+
+  @Override
+  public int findEdge(int u, int v) {
+    if (u < 0 || u >= vertexCount()) {
+      return -1;
+    }
+    int e = Arrays.binarySearch(targets, outOffsets[u], outOffsets[u + 1], v);
+    return e >= 0 ? e : -1;
+  }
+}
@@ -0,0 +1,215 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * EdgeSelection 类
+ * 选择要绘制或导出的边，使大图也能在有限的时间和内存内输出.
+ * 所有方法直接遍历邻接存储的出边，返回按编号升序排列的边编号数组.
+ */
+public final class EdgeSelection {
+  private EdgeSelection() {
+  }
+
+  /**
+   * 所有边.
+   *
+   * @param graph 邻接存储.
+   * @return 边编号.
+   */
+  public static int[] all(GraphStorage graph) {
+    int[] edges = new int[graph.edgeCount()];
+    for (int e = 0; e < edges.length; e++) {
+      edges[e] = e;
+    }
+    return edges;
+  }
+
+  /**
+   * 权重最大的 k 条边,权重相同时保留编号较小的边.
+   * 使用大小为 k 的最小堆,耗时 O(E log k).
+   *
+   * @param graph 邻接存储.
+   * @param k     边数.
+   * @return 边编号.
+   */
+  public static int[] topWeight(GraphStorage graph, int k) {
+    int m = graph.edgeCount();
+    if (k >= m) {
+      return all(graph);
+    }
+    if (k <= 0) {
+      return new int[0];
+    }
+    long[] heap = new long[k]; // (权重 << 32) | (MAX_VALUE - 编号),堆顶是最先淘汰的边
+    int size = 0;
+    for (int e = 0; e < m; e++) {
+      long key = ((long) graph.weight(e) << 32) | (Integer.MAX_VALUE - e);
+      if (size < k) {
+        heap[size] = key;
+        siftUp(heap, size++);
+      } else if (key > heap[0]) {
+        heap[0] = key;
+        siftDown(heap, size);
+      }
+    }
+    int[] edges = new int[size];
+    for (int i = 0; i < size; i++) {
+      edges[i] = Integer.MAX_VALUE - (int) heap[i];
+    }
+    Arrays.sort(edges);
+    return edges;
+  }
+
+  private static void siftUp(long[] heap, int i) {
+    long key = heap[i];
+    while (i > 0 && heap[(i - 1) >>> 1] > key) {
+      heap[i] = heap[(i - 1) >>> 1];
+      i = (i - 1) >>> 1;
+    }
+    heap[i] = key;
+  }
+
+  private static void siftDown(long[] heap, int size) {
+    long key = heap[0];
+    int i = 0;
+    while (2 * i + 1 < size) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && heap[child + 1] < heap[child]) {
+        child++;
+      }
+      if (heap[child] >= key) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = key;
+  }
+
+  /**
+   * 路径附近的边：两端都在路径顶点 hops 步（沿出边或入边）以内的边.
+   * hops 为 0 时只保留路径顶点之间的边.
+   *
+   * @param graph 邻接存储.
+   * @param paths 路径,每条是依次经过的顶点编号,可为 null.
+   * @param hops  扩展的步数.
+   * @return 边编号.
+   */
+  public static int[] neighborhood(GraphStorage graph, List<int[]> paths, int hops) {
+    BitSet selected = new BitSet(graph.vertexCount());
+    int[] frontier = new int[0];
+    int frontierSize = 0;
+    if (paths != null) {
+      for (int[] path : paths) {
+        for (int v : path) {
+          if (!selected.get(v)) {
+            selected.set(v);
+            if (frontierSize == frontier.length) {
+              frontier = Arrays.copyOf(frontier, Math.max(16, frontierSize * 2));
+            }
+            frontier[frontierSize++] = v;
+          }
+        }
+      }
+    }
+    for (int h = 0; h < hops && frontierSize > 0; h++) { // 逐层扩展
+      int[] next = new int[16];
+      int nextSize = 0;
+      for (int i = 0; i < frontierSize; i++) {
+        int v = frontier[i];
+        for (int k = 0; k < graph.outDegree(v) + graph.inDegree(v); k++) {
+          int u = k < graph.outDegree(v) ? graph.target(graph.outEdge(v, k))
+                  : graph.source(graph.inEdge(v, k - graph.outDegree(v)));
+          if (!selected.get(u)) {
+            selected.set(u);
+            if (nextSize == next.length) {
+              next = Arrays.copyOf(next, nextSize * 2);
+            }
+            next[nextSize++] = u;
+          }
+        }
+      }
+      frontier = next;
+      frontierSize = nextSize;
+    }
+    int[] edges = new int[16];
+    int count = 0;
+    for (int v = selected.nextSetBit(0); v >= 0; v = selected.nextSetBit(v + 1)) {
+      for (int k = 0; k < graph.outDegree(v); k++) {
+        int e = graph.outEdge(v, k);
+        if (selected.get(graph.target(e))) {
+          if (count == edges.length) {
+            edges = Arrays.copyOf(edges, count * 2);
+          }
+          edges[count++] = e;
+        }
+      }
+    }
+    edges = Arrays.copyOf(edges, count);
+    Arrays.sort(edges);
+    return edges;
+  }
+
+  /**
+   * 限制边数.
+   *
+   * @param graph    邻接存储.
+   * @param paths    需要保留的路径,可为 null.
+   * @param maxEdges 边数超过该值时只保留权重最大的 maxEdges 条边和路径顶点之间的边.
+   * @return 边编号.
+   */
+  public static int[] limit(GraphStorage graph, List<int[]> paths, int maxEdges) {
+    if (graph.edgeCount() <= maxEdges) {
+      return all(graph);
+    }
+    return union(topWeight(graph, maxEdges), neighborhood(graph, paths, 0));
+  }
+
+  /**
+   * 两组边的并集.
+   *
+   * @param a 升序排列的边编号.
+   * @param b 升序排列的边编号.
+   * @return 升序排列的边编号.
+   */
+  public static int[] union(int[] a, int[] b) {
+    int[] edges = new int[a.length + b.length];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < a.length || j < b.length) {
+      int e = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+      if (i < a.length && a[i] == e) {
+        i++;
+      }
+      if (j < b.length && b[j] == e) {
+        j++;
+      }
+      edges[count++] = e;
+    }
+    return Arrays.copyOf(edges, count);
+  }
+
+  /**
+   * 路径经过的边.
+   *
+   * @param graph 邻接存储.
+   * @param paths 路径,可为 null.
+   * @return 按边编号标记的位集.
+   */
+  public static BitSet pathEdges(GraphStorage graph, List<int[]> paths) {
+    BitSet edges = new BitSet(graph.edgeCount());
+    if (paths != null) {
+      for (int[] path : paths) {
+        for (int i = 0; i + 1 < path.length; i++) {
+          int e = graph.findEdge(path[i], path[i + 1]);
+          if (e >= 0) {
+            edges.set(e);
+          }
+        }
+      }
+    }
+    return edges;
+  }
+}
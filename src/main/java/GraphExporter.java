@@ -0,0 +1,128 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+/**
+ * GraphExporter 类
+ * 把图（或其中选出的边）导出为 DOT 或 GraphML 文件，不需要图形界面.
+ * 边按编号依次从邻接存储读取并直接写出，不构建中间的图对象；
+ * 顶点只输出所选边的端点；单词只含小写字母，不需要转义.
+ */
+public final class GraphExporter {
+  private GraphExporter() {
+  }
+
+  /**
+   * 按扩展名导出：.dot / .gv 为 DOT，.graphml 为 GraphML.
+   *
+   * @param graph       图快照.
+   * @param edges       升序排列的边编号,例如 EdgeSelection.all(graph.storage()).
+   * @param highlighted 需要突出显示的边,可为 null.
+   * @param file        文件路径,已存在时覆盖.
+   * @throws IOException 文件读写异常或扩展名不受支持.
+   */
+  public static void export(GraphSnapshot graph, int[] edges, BitSet highlighted, Path file)
+          throws IOException {
+    String name = file.getFileName().toString().toLowerCase();
+    boolean dot = name.endsWith(".dot") || name.endsWith(".gv");
+    if (!dot && !name.endsWith(".graphml")) {
+      throw new IOException("Unsupported export format: " + file);
+    }
+    try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      if (dot) {
+        writeDot(graph, edges, highlighted, out);
+      } else {
+        writeGraphMl(graph, edges, highlighted, out);
+      }
+    }
+  }
+
+  /**
+   * 以 DOT 格式写出.
+   *
+   * @param graph       图快照.
+   * @param edges       升序排列的边编号.
+   * @param highlighted 需要突出显示的边,可为 null.
+   * @param out         输出,由调用者负责关闭.
+   * @throws IOException 文件读写异常.
+   */
+  public static void writeDot(GraphSnapshot graph, int[] edges, BitSet highlighted, Writer out)
+          throws IOException {
+    GraphStorage storage = graph.storage();
+    out.write("digraph TextGraph {\n");
+    out.write("  node [color=blue, fontsize=20];\n");
+    out.write("  edge [color=black, fontsize=20];\n");
+    BitSet written = new BitSet(storage.vertexCount());
+    for (int e : edges) {
+      int u = storage.source(e);
+      int v = storage.target(e);
+      writeDotNode(graph, u, written, out);
+      writeDotNode(graph, v, written, out);
+      out.write("  \"" + graph.wordOf(u) + "\" -> \"" + graph.wordOf(v)
+              + "\" [label=" + storage.weight(e));
+      if (highlighted != null && highlighted.get(e)) {
+        out.write(", color=red");
+      }
+      out.write("];\n");
+    }
+    out.write("}\n");
+    out.flush();
+  }
+
+  private static void writeDotNode(GraphSnapshot graph, int v, BitSet written, Writer out)
+          throws IOException {
+    if (!written.get(v)) {
+      written.set(v);
+      out.write("  \"" + graph.wordOf(v) + "\";\n");
+    }
+  }
+
+  /**
+   * 以 GraphML 格式写出,边权重和突出显示标记保存为数据属性.
+   *
+   * @param graph       图快照.
+   * @param edges       升序排列的边编号.
+   * @param highlighted 需要突出显示的边,可为 null.
+   * @param out         输出,由调用者负责关闭.
+   * @throws IOException 文件读写异常.
+   */
+  public static void writeGraphMl(GraphSnapshot graph, int[] edges, BitSet highlighted,
+                                  Writer out) throws IOException {
+    GraphStorage storage = graph.storage();
+    out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+    out.write("  <key id=\"label\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n");
+    out.write("  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"int\"/>\n");
+    out.write("  <key id=\"highlighted\" for=\"edge\" attr.name=\"highlighted\""
+            + " attr.type=\"boolean\"><default>false</default></key>\n");
+    out.write("  <graph id=\"TextGraph\" edgedefault=\"directed\">\n");
+    BitSet written = new BitSet(storage.vertexCount());
+    for (int e : edges) {
+      int u = storage.source(e);
+      int v = storage.target(e);
+      writeGraphMlNode(graph, u, written, out);
+      writeGraphMlNode(graph, v, written, out);
+      out.write("    <edge id=\"e" + e + "\" source=\"n" + u + "\" target=\"n" + v + "\">"
+              + "<data key=\"weight\">" + storage.weight(e) + "</data>");
+      if (highlighted != null && highlighted.get(e)) {
+        out.write("<data key=\"highlighted\">true</data>");
+      }
+      out.write("</edge>\n");
+    }
+    out.write("  </graph>\n");
+    out.write("</graphml>\n");
+    out.flush();
+  }
+
+  private static void writeGraphMlNode(GraphSnapshot graph, int v, BitSet written, Writer out)
+          throws IOException {
+    if (!written.get(v)) {
+      written.set(v);
+      out.write("    <node id=\"n" + v + "\"><data key=\"label\">" + graph.wordOf(v)
+              + "</data></node>\n");
+    }
+  }
+}
@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * GraphFile 类
+ * 图的二进制文件格式，保存已构建的词表和邻接存储，加载时使用内存映射.
+ * 文件布局（小端序）：
+ * 1. 文件头 32 字节：魔数、版本号、顶点数 V、边数 E、单词总字节数、保留
+ * 2. int[V+1] 出边起始位置，int[E] 起点，int[E] 终点（行内升序），int[E] 权重
+ * 3. int[V+1] 入边起始位置，int[E] 入边编号
+ * 4. int[V+1] 单词起始字节，以及按编号顺序拼接的单词（ASCII）
+ * 邻接数组直接映射为 IntBuffer 使用；词表在加载时重建哈希表，耗时与单词总长度成正比.
+ */
+public final class GraphFile {
+  /** 魔数 "TGRF". */
+  public static final int MAGIC = 0x54475246;
+  /** 当前格式版本. */
+  public static final int VERSION = 1;
+  private static final int HEADER_SIZE = 32; // 文件头字节数
+
+  private GraphFile() {
+  }
+
+  /**
+   * 保存图快照.
+   *
+   * @param snapshot 图快照.
+   * @param path     文件路径,已存在时覆盖.
+   * @throws IOException 文件读写异常.
+   */
+  public static void save(GraphSnapshot snapshot, Path path) throws IOException {
+    GraphStorage graph = snapshot.storage() instanceof CsrGraph
+            ? snapshot.storage() : CsrGraph.copyOf(snapshot.storage());
+    int n = graph.vertexCount();
+    int m = graph.edgeCount();
+    byte[][] words = new byte[n][];
+    long wordBytes = 0;
+    for (int v = 0; v < n; v++) {
+      words[v] = snapshot.wordOf(v).getBytes(StandardCharsets.US_ASCII);
+      wordBytes += words[v].length;
+    }
+    if (wordBytes > Integer.MAX_VALUE) {
+      throw new IOException("Vocabulary too large for graph file.");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      Output out = new Output(channel);
+      out.putInt(MAGIC);
+      out.putInt(VERSION);
+      out.putInt(n);
+      out.putInt(m);
+      out.putLong(wordBytes);
+      out.putLong(0);
+      // CSR 的边编号按起点连续,依次写出即为出边数组
+      out.putInt(0);
+      for (int v = 0, offset = 0; v < n; v++) {
+        offset += graph.outDegree(v);
+        out.putInt(offset);
+      }
+      for (int e = 0; e < m; e++) {
+        out.putInt(graph.source(e));
+      }
+      for (int e = 0; e < m; e++) {
+        out.putInt(graph.target(e));
+      }
+      for (int e = 0; e < m; e++) {
+        out.putInt(graph.weight(e));
+      }
+      out.putInt(0);
+      for (int v = 0, offset = 0; v < n; v++) {
+        offset += graph.inDegree(v);
+        out.putInt(offset);
+      }
+      for (int v = 0; v < n; v++) {
+        for (int i = 0; i < graph.inDegree(v); i++) {
+          out.putInt(graph.inEdge(v, i));
+        }
+      }
+      out.putInt(0);
+      for (int v = 0, offset = 0; v < n; v++) {
+        offset += words[v].length;
+        out.putInt(offset);
+      }
+      for (byte[] word : words) {
+        out.put(word);
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * 以内存映射方式加载图快照.
+   *
+   * @param path 文件路径.
+   * @return 图快照,邻接数组直接引用映射区域.
+   * @throws IOException 文件读写异常或文件格式不受支持.
+   */
+  public static GraphSnapshot load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = map(channel, 0, HEADER_SIZE);
+      if (header.getInt(0) != MAGIC) {
+        throw new IOException("Not a graph file: " + path);
+      }
+      if (header.getInt(4) != VERSION) {
+        throw new IOException("Unsupported graph file version " + header.getInt(4) + ": " + path);
+      }
+      int n = header.getInt(8);
+      int m = header.getInt(12);
+      long wordBytes = header.getLong(16);
+      if (n < 0 || n == Integer.MAX_VALUE || m < 0 || wordBytes < 0
+              || wordBytes > Integer.MAX_VALUE
+              || HEADER_SIZE + 12L * (n + 1L) + 16L * m + wordBytes > channel.size()) {
+        throw new IOException("Corrupt graph file: " + path);
+      }
+      long position = HEADER_SIZE;
+      IntBuffer outOffsets = ints(channel, position, n + 1);
+      position += 4L * (n + 1);
+      IntBuffer sources = ints(channel, position, m);
+      position += 4L * m;
+      IntBuffer targets = ints(channel, position, m);
+      position += 4L * m;
+      IntBuffer weights = ints(channel, position, m);
+      position += 4L * m;
+      IntBuffer inOffsets = ints(channel, position, n + 1);
+      position += 4L * (n + 1);
+      IntBuffer inEdges = ints(channel, position, m);
+      position += 4L * m;
+      IntBuffer wordOffsets = ints(channel, position, n + 1);
+      position += 4L * (n + 1);
+      ByteBuffer text = map(channel, position, wordBytes);
+      Vocabulary vocabulary = new Vocabulary();
+      byte[] word = new byte[64];
+      for (int v = 0; v < n; v++) {
+        int start = wordOffsets.get(v);
+        int length = wordOffsets.get(v + 1) - start;
+        if (start < 0 || length < 0 || start + (long) length > wordBytes) {
+          throw new IOException("Corrupt graph file: " + path);
+        }
+        if (word.length < length) {
+          word = new byte[length * 2];
+        }
+        text.get(start, word, 0, length);
+        vocabulary.intern(new String(word, 0, length, StandardCharsets.US_ASCII));
+      }
+      MappedGraph graph = new MappedGraph(outOffsets, sources, targets, weights,
+              inOffsets, inEdges);
+      return new GraphSnapshot(vocabulary, graph, null); // 桥接词按行内二分查找,不复制邻接数组
+    }
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, long size)
+          throws IOException {
+    if (position + size > channel.size()) {
+      throw new IOException("Truncated graph file.");
+    }
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+  /**
+   * 每段单独映射,单段不超过 2GB 即可支持更大的文件.
+   */
+  private static IntBuffer ints(FileChannel channel, long position, int count)
+          throws IOException {
+    return map(channel, position, 4L * count).asIntBuffer();
+  }
+
+  /**
+   * 带缓冲的小端序写出.
+   */
+  private static final class Output {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    private Output(FileChannel channel) {
+      this.channel = channel;
+      buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void putInt(int value) throws IOException {
+      if (buffer.remaining() < 4) {
+        flush();
+      }
+      buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+      if (buffer.remaining() < 8) {
+        flush();
+      }
+      buffer.putLong(value);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+      for (int i = 0; i < bytes.length; ) {
+        if (!buffer.hasRemaining()) {
+          flush();
+        }
+        int length = Math.min(buffer.remaining(), bytes.length - i);
+        buffer.put(bytes, i, length);
+        i += length;
+      }
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * GraphHolder 类
+ * 持有当前对外服务的图快照.
+ * 读者每次调用 current() 得到一个完整的快照并在其上完成整次查询；
+ * 重新构建的图通过 swap 原子替换，不阻塞正在进行的查询.
+ */
+public final class GraphHolder {
+  private final AtomicReference<GraphSnapshot> current; // 当前快照
+
+  /**
+   * 构造函数.
+   *
+   * @param snapshot 初始快照.
+   */
+  public GraphHolder(GraphSnapshot snapshot) {
+    current = new AtomicReference<>(snapshot);
+  }
+
+  /**
+   * 当前快照.
+   *
+   * @return 当前快照.
+   */
+  public GraphSnapshot current() {
+    return current.get();
+  }
+
+  /**
+   * 原子替换快照.
+   * 已经取得旧快照的读者继续使用旧快照，之后的读者看到新快照.
+   *
+   * @param snapshot 新快照.
+   * @return 被替换的旧快照.
+   */
+  public GraphSnapshot swap(GraphSnapshot snapshot) {
+    return current.getAndSet(snapshot);
+  }
+
+  /**
+   * 从文件重新构建图并替换当前快照.
+   * 构建在调用线程中完成，期间读者继续使用旧快照.
+   *
+   * @param filename 文件名.
+   * @return 新快照.
+   */
+  public GraphSnapshot reload(String filename) {
+    TextGraph textGraph = new TextGraph();
+    textGraph.inputGraph(filename);
+    GraphSnapshot snapshot = textGraph.freeze();
+    current.set(snapshot);
+    return snapshot;
+  }
+}
@@ -0,0 +1,298 @@
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * GraphMetrics 类
+ * TextGraph 的运行时指标：图的规模、读取各阶段的耗时、每种查询的次数和延迟分布.
+ * 记录一次查询只需读取两次时钟并做几次无锁原子加法，可在多个线程中同时记录.
+ * 指标可通过 publish 推送给注册的 MetricsSink，或注册为 JMX MXBean 后由监控代理读取.
+ */
+public final class GraphMetrics implements GraphMetricsMXBean {
+  private final ConcurrentLatencyHistogram[] latency; // 每种查询的延迟
+  private final ConcurrentLatencyHistogram loads; // 每次读取的总耗时
+  private final List<MetricsSink> sinks; // 注册的指标接收者
+  private volatile Map<String, Long> lastLoadPhases; // 最近一次读取各阶段的纳秒数,按执行顺序排列
+  private volatile long vertexCount; // 顶点数
+  private volatile long edgeCount; // 不同的边数
+  private volatile long transitionCount; // 相邻单词对数,即所有边的权重之和
+
+  /**
+   * 被统计的查询.
+   */
+  public enum Operation {
+    /** 查询桥接词. */
+    BRIDGE,
+    /** 生成新文本. */
+    GENERATE,
+    /** 计算最短路径. */
+    PATH,
+    /** 随机游走. */
+    WALK;
+
+    /**
+     * 指标名中使用的操作名.
+     *
+     * @return 小写的操作名.
+     */
+    public String metricName() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /**
+   * 构造函数
+   * 初始化空统计.
+   */
+  public GraphMetrics() {
+    latency = new ConcurrentLatencyHistogram[Operation.values().length];
+    for (int i = 0; i < latency.length; i++) {
+      latency[i] = new ConcurrentLatencyHistogram();
+    }
+    loads = new ConcurrentLatencyHistogram();
+    sinks = new CopyOnWriteArrayList<>();
+    lastLoadPhases = Collections.emptyMap();
+  }
+
+  /**
+   * 开始计时.
+   *
+   * @return 传给 record 的开始时间.
+   */
+  public long start() {
+    return System.nanoTime();
+  }
+
+  /**
+   * 记录一次查询.
+   *
+   * @param operation 查询.
+   * @param start     start() 返回的开始时间.
+   */
+  public void record(Operation operation, long start) {
+    recordNanos(operation, System.nanoTime() - start);
+  }
+
+  /**
+   * 记录一次查询.
+   *
+   * @param operation 查询.
+   * @param nanos     耗时,单位纳秒.
+   */
+  public void recordNanos(Operation operation, long nanos) {
+    latency[operation.ordinal()].record(nanos);
+  }
+
+  /**
+   * 更新图的规模,在图改变后调用.
+   *
+   * @param vertices    顶点数.
+   * @param edges       不同的边数.
+   * @param transitions 相邻单词对数.
+   */
+  public void graphSize(int vertices, int edges, long transitions) {
+    vertexCount = vertices;
+    edgeCount = edges;
+    transitionCount = transitions;
+  }
+
+  /**
+   * 开始一次读取.
+   *
+   * @return 用于记录各阶段耗时的计时器.
+   */
+  public Load startLoad() {
+    return new Load();
+  }
+
+  /**
+   * 一次读取的计时器,只在读取的线程中使用.
+   */
+  public final class Load {
+    private final long start; // 读取开始的时间
+    private final Map<String, Long> phases; // 已完成的阶段
+    private long mark; // 上一阶段结束的时间
+
+    private Load() {
+      start = System.nanoTime();
+      mark = start;
+      phases = new LinkedHashMap<>();
+    }
+
+    /**
+     * 结束一个阶段,耗时从上一阶段结束时算起.
+     *
+     * @param name 阶段名.
+     */
+    public void phase(String name) {
+      long now = System.nanoTime();
+      phases.merge(name, now - mark, Long::sum);
+      mark = now;
+    }
+
+    /**
+     * 结束读取.
+     */
+    public void finish() {
+      loads.record(mark - start);
+      lastLoadPhases = Collections.unmodifiableMap(phases);
+    }
+  }
+
+  /**
+   * 查询的延迟分布.
+   *
+   * @param operation 查询.
+   * @return 快照,单位纳秒.
+   */
+  public LatencyHistogram latency(Operation operation) {
+    return latency[operation.ordinal()].snapshot();
+  }
+
+  /**
+   * 读取的耗时分布.
+   *
+   * @return 快照,单位纳秒.
+   */
+  public LatencyHistogram loadLatency() {
+    return loads.snapshot();
+  }
+
+  /**
+   * 注册指标接收者.
+   *
+   * @param sink 接收者.
+   */
+  public void addSink(MetricsSink sink) {
+    sinks.add(sink);
+  }
+
+  /**
+   * 取消注册.
+   *
+   * @param sink 接收者.
+   */
+  public void removeSink(MetricsSink sink) {
+    sinks.remove(sink);
+  }
+
+  /**
+   * 把当前的指标推送给所有注册的接收者,可由定时任务周期性调用.
+   */
+  public void publish() {
+    for (MetricsSink sink : sinks) {
+      publish(sink);
+    }
+  }
+
+  /**
+   * 把当前的指标推送给一个接收者.
+   *
+   * @param sink 接收者.
+   */
+  public void publish(MetricsSink sink) {
+    sink.gauge("graph.vertices", vertexCount);
+    sink.gauge("graph.edges", edgeCount);
+    sink.gauge("graph.transitions", transitionCount);
+    LatencyHistogram load = loadLatency();
+    sink.counter("load.count", load.count());
+    sink.histogram("load", load);
+    for (Map.Entry<String, Long> phase : lastLoadPhases.entrySet()) {
+      sink.gauge("load.phase." + phase.getKey() + ".ms", phase.getValue() / 1e6);
+    }
+    for (Operation operation : Operation.values()) {
+      LatencyHistogram histogram = latency(operation);
+      sink.counter("query." + operation.metricName() + ".count", histogram.count());
+      sink.histogram("query." + operation.metricName(), histogram);
+    }
+  }
+
+  /**
+   * 注册到平台 MBean 服务器.
+   *
+   * @param name 区分多个图的名称.
+   * @return 注册的对象名,取消注册时使用.
+   * @throws JMException 名称非法或已被注册.
+   */
+  public ObjectName registerMBean(String name) throws JMException {
+    ObjectName objectName = new ObjectName("TextGraph:type=GraphMetrics,name="
+            + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    return objectName;
+  }
+
+  @Override
+  public long getVertexCount() {
+    return vertexCount;
+  }
+
+  @Override
+  public long getEdgeCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public long getTransitionCount() {
+    return transitionCount;
+  }
+
+  @Override
+  public long getLoadCount() {
+    return loads.count();
+  }
+
+  @Override
+  public Map<String, Double> getLastLoadPhaseMillis() {
+    Map<String, Double> millis = new LinkedHashMap<>();
+    lastLoadPhases.forEach((phase, nanos) -> millis.put(phase, nanos / 1e6));
+    return millis;
+  }
+
+  @Override
+  public Map<String, Long> getQueryCounts() {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      counts.put(operation.metricName(), latency[operation.ordinal()].count());
+    }
+    return counts;
+  }
+
+  @Override
+  public Map<String, Double> getMeanLatencyMicros() {
+    return latencyMicros(LatencyHistogram::mean);
+  }
+
+  @Override
+  public Map<String, Double> getP99LatencyMicros() {
+    return latencyMicros(histogram -> histogram.percentile(99));
+  }
+
+  @Override
+  public Map<String, Double> getMaxLatencyMicros() {
+    return latencyMicros(LatencyHistogram::max);
+  }
+
+  private Map<String, Double> latencyMicros(ToDoubleFunction<LatencyHistogram> statistic) {
+    Map<String, Double> micros = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      micros.put(operation.metricName(), statistic.applyAsDouble(latency(operation)) / 1e3);
+    }
+    return micros;
+  }
+
+  @Override
+  public void reset() {
+    for (ConcurrentLatencyHistogram histogram : latency) {
+      histogram.reset();
+    }
+    loads.reset();
+    lastLoadPhases = Collections.emptyMap();
+  }
+}
@@ -0,0 +1,36 @@
+import java.util.Map;
+
+/**
+ * GraphMetricsMXBean 接口
+ * GraphMetrics 的 JMX 管理接口，可在 JConsole 或监控代理中查看.
+ * 延迟的单位为微秒，映射的键为操作名 bridge、generate、path、walk 或读取阶段名.
+ */
+public interface GraphMetricsMXBean {
+  long getVertexCount();
+
+  long getEdgeCount();
+
+  long getTransitionCount();
+
+  long getLoadCount();
+
+  /**
+   * 最近一次读取各阶段的耗时.
+   *
+   * @return 阶段名到毫秒数,按执行顺序排列.
+   */
+  Map<String, Double> getLastLoadPhaseMillis();
+
+  Map<String, Long> getQueryCounts();
+
+  Map<String, Double> getMeanLatencyMicros();
+
+  Map<String, Double> getP99LatencyMicros();
+
+  Map<String, Double> getMaxLatencyMicros();
+
+  /**
+   * 清空计数和延迟统计,图的规模不受影响.
+   */
+  void reset();
+}
@@ -0,0 +1,274 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+
+/**
+ * GraphRenderer 类
+ * 不需要显示器的离屏渲染器，直接用 Java2D 把图画到 BufferedImage 上并保存为 PNG.
+ * 构造时计算一次布局并缓存，之后每次只需按不同的突出显示路径重新绘制，
+ * 布局不可变，可被多个线程同时用于绘制.
+ * 异步绘制使用有界的线程池：队列满时由提交线程自己绘制，限制在途图片占用的内存.
+ * 所选边以外的路径边只要两端都在布局中也会画出.
+ */
+public final class GraphRenderer implements AutoCloseable {
+  private static final int FORCE_LAYOUT_LIMIT = 400; // 顶点数不超过该值时使用力导向布局
+  private static final int ITERATIONS = 200; // 力导向布局的迭代次数
+  private static final double GRAVITY = 0.3; // 力导向布局中拉向中心的力度
+  private static final int MARGIN = 40; // 图片边距
+  private static final double RADIUS = 10; // 顶点半径
+  private static final Color NODE_COLOR = Color.BLUE;
+  private static final Color EDGE_COLOR = Color.BLACK;
+  private static final Color PATH_COLOR = Color.RED;
+  private final GraphSnapshot graph; // 不可变的图快照
+  private final int[] edges; // 参与布局的边
+  private final int width; // 图片宽度
+  private final int height; // 图片高度
+  private final int[] slot; // 顶点编号 -> 布局下标,不在布局中时为 -1
+  private final int[] nodes; // 布局下标 -> 顶点编号
+  private final double[] x; // 顶点横坐标（像素）
+  private final double[] y; // 顶点纵坐标（像素）
+  private final ThreadPoolExecutor pool; // 有界的绘制线程池
+
+  /**
+   * 构造函数
+   * 计算布局：顶点较少时使用固定种子的力导向布局（Fruchterman-Reingold），否则按编号排成圆形.
+   *
+   * @param graph   不可变的图快照.
+   * @param edges   升序排列的边编号,例如 EdgeSelection.limit(...).
+   * @param width   图片宽度.
+   * @param height  图片高度.
+   * @param threads 异步绘制的线程数.
+   */
+  public GraphRenderer(GraphSnapshot graph, int[] edges, int width, int height, int threads) {
+    this.graph = graph;
+    this.edges = edges.clone();
+    this.width = width;
+    this.height = height;
+    GraphStorage storage = graph.storage();
+    slot = new int[storage.vertexCount()];
+    Arrays.fill(slot, -1);
+    int[] order = new int[Math.min(storage.vertexCount(), 2 * edges.length)];
+    int n = 0;
+    for (int e : edges) {
+      for (int end = 0; end < 2; end++) {
+        int v = end == 0 ? storage.source(e) : storage.target(e);
+        if (slot[v] == -1) {
+          slot[v] = n;
+          order[n++] = v;
+        }
+      }
+    }
+    if (edges.length == storage.edgeCount()) {
+      order = Arrays.copyOf(order, storage.vertexCount());
+      for (int v = 0; v < storage.vertexCount(); v++) { // 全图时包括没有边的顶点
+        if (slot[v] == -1) {
+          slot[v] = n;
+          order[n++] = v;
+        }
+      }
+    }
+    nodes = Arrays.copyOf(order, n);
+    x = new double[n];
+    y = new double[n];
+    if (n <= FORCE_LAYOUT_LIMIT) {
+      forceLayout();
+    } else {
+      circleLayout();
+    }
+    int size = Math.max(threads, 1);
+    pool = new ThreadPoolExecutor(size, size, 1, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(size * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+    pool.allowCoreThreadTimeOut(true); // 空闲时线程退出,不阻止程序结束
+  }
+
+  private void circleLayout() {
+    double cx = width / 2.0;
+    double cy = height / 2.0;
+    double r = Math.max(Math.min(width, height) / 2.0 - MARGIN, 1);
+    for (int i = 0; i < nodes.length; i++) {
+      double angle = 2 * Math.PI * i / nodes.length;
+      x[i] = cx + r * Math.cos(angle);
+      y[i] = cy + r * Math.sin(angle);
+    }
+  }
+
+  private void forceLayout() {
+    int n = nodes.length;
+    double w = width - 2.0 * MARGIN;
+    double h = height - 2.0 * MARGIN;
+    double k = 0.5 * Math.sqrt(Math.max(w * h, 1) / Math.max(n, 1)); // 理想边长
+    SplittableRandom random = new SplittableRandom(n); // 固定种子,布局可重现
+    for (int i = 0; i < n; i++) {
+      x[i] = MARGIN + random.nextDouble() * w;
+      y[i] = MARGIN + random.nextDouble() * h;
+    }
+    double[] dx = new double[n];
+    double[] dy = new double[n];
+    GraphStorage storage = graph.storage();
+    double temperature = w / 10;
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      Arrays.fill(dx, 0);
+      Arrays.fill(dy, 0);
+      for (int i = 0; i < n; i++) { // 顶点之间相互排斥
+        for (int j = i + 1; j < n; j++) {
+          double ex = x[i] - x[j];
+          double ey = y[i] - y[j];
+          double d2 = Math.max(ex * ex + ey * ey, 0.01);
+          double f = k * k / d2;
+          dx[i] += ex * f;
+          dy[i] += ey * f;
+          dx[j] -= ex * f;
+          dy[j] -= ey * f;
+        }
+      }
+      for (int e : edges) { // 相连的顶点相互吸引
+        int i = slot[storage.source(e)];
+        int j = slot[storage.target(e)];
+        double ex = x[i] - x[j];
+        double ey = y[i] - y[j];
+        double d = Math.sqrt(ex * ex + ey * ey);
+        double f = d / k;
+        dx[i] -= ex * f;
+        dy[i] -= ey * f;
+        dx[j] += ex * f;
+        dy[j] += ey * f;
+      }
+      for (int i = 0; i < n; i++) {
+        dx[i] -= (x[i] - width / 2.0) * GRAVITY; // 拉向中心,避免顶点堆积在边缘
+        dy[i] -= (y[i] - height / 2.0) * GRAVITY;
+        double d = Math.max(Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]), 0.01);
+        double step = Math.min(d, temperature);
+        x[i] = Math.min(Math.max(x[i] + dx[i] / d * step, MARGIN), width - MARGIN);
+        y[i] = Math.min(Math.max(y[i] + dy[i] / d * step, MARGIN), height - MARGIN);
+      }
+      temperature *= 0.97; // 逐渐降温
+    }
+  }
+
+  /**
+   * 绘制图片.
+   *
+   * @param highlighted 需要突出显示的边,可为 null.
+   * @return 新的图片.
+   */
+  public BufferedImage render(BitSet highlighted) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+              RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+      g.setColor(Color.WHITE);
+      g.fillRect(0, 0, width, height);
+      g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+      GraphStorage storage = graph.storage();
+      for (int e : edges) {
+        if (highlighted == null || !highlighted.get(e)) {
+          drawEdge(g, storage, e, EDGE_COLOR);
+        }
+      }
+      if (highlighted != null) { // 路径画在最上层
+        for (int e = highlighted.nextSetBit(0); e >= 0; e = highlighted.nextSetBit(e + 1)) {
+          if (slot[storage.source(e)] != -1 && slot[storage.target(e)] != -1) {
+            drawEdge(g, storage, e, PATH_COLOR);
+          }
+        }
+      }
+      g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
+      FontMetrics metrics = g.getFontMetrics();
+      for (int i = 0; i < nodes.length; i++) {
+        g.setColor(NODE_COLOR);
+        g.fill(new Ellipse2D.Double(x[i] - RADIUS, y[i] - RADIUS, 2 * RADIUS, 2 * RADIUS));
+        String word = graph.wordOf(nodes[i]);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString(word, (float) (x[i] - metrics.stringWidth(word) / 2.0),
+                (float) (y[i] - RADIUS - 4));
+      }
+    } finally {
+      g.dispose();
+    }
+    return image;
+  }
+
+  private void drawEdge(Graphics2D g, GraphStorage storage, int e, Color color) {
+    int i = slot[storage.source(e)];
+    int j = slot[storage.target(e)];
+    g.setColor(color);
+    g.setStroke(new BasicStroke(color == PATH_COLOR ? 3f : 1f));
+    String label = String.valueOf(storage.weight(e));
+    if (i == j) { // 自环
+      g.draw(new Ellipse2D.Double(x[i] - RADIUS, y[i] - 3 * RADIUS, 2 * RADIUS, 2 * RADIUS));
+      g.drawString(label, (float) (x[i] + RADIUS), (float) (y[i] - 3 * RADIUS));
+      return;
+    }
+    double ex = x[j] - x[i];
+    double ey = y[j] - y[i];
+    double d = Math.max(Math.sqrt(ex * ex + ey * ey), 0.01);
+    double ux = ex / d;
+    double uy = ey / d;
+    double tipX = x[j] - ux * RADIUS; // 箭头画在终点的圆周上
+    double tipY = y[j] - uy * RADIUS;
+    g.draw(new Line2D.Double(x[i], y[i], tipX, tipY));
+    Path2D.Double arrow = new Path2D.Double();
+    arrow.moveTo(tipX, tipY);
+    arrow.lineTo(tipX - ux * 10 - uy * 4, tipY - uy * 10 + ux * 4);
+    arrow.lineTo(tipX - ux * 10 + uy * 4, tipY - uy * 10 - ux * 4);
+    arrow.closePath();
+    g.fill(arrow);
+    g.drawString(label, (float) ((x[i] + x[j]) / 2 - uy * 8), (float) ((y[i] + y[j]) / 2 + ux * 8));
+  }
+
+  /**
+   * 绘制图片并保存为 PNG.
+   *
+   * @param highlighted 需要突出显示的边,可为 null.
+   * @param file        文件路径,已存在时覆盖.
+   * @throws IOException 文件读写异常.
+   */
+  public void renderTo(BitSet highlighted, Path file) throws IOException {
+    if (!ImageIO.write(render(highlighted), "png", file.toFile())) {
+      throw new IOException("No PNG writer available.");
+    }
+  }
+
+  /**
+   * 在线程池中异步绘制并保存为 PNG.
+   *
+   * @param paths 需要突出显示的路径,每条为顶点编号序列,可为 null.
+   * @param file  文件路径,已存在时覆盖.
+   * @return 完成时返回文件路径.
+   */
+  public Future<Path> submit(List<int[]> paths, Path file) {
+    BitSet highlighted = EdgeSelection.pathEdges(graph.storage(), paths);
+    return pool.submit(() -> {
+      renderTo(highlighted, file);
+      return file;
+    });
+  }
+
+  /**
+   * 关闭线程池,已提交的绘制仍会完成.
+   */
+  @Override
+  public void close() {
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,223 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * GraphSnapshot 类
+ * 文本图的只读查询视图：词表、邻接存储和可选的桥接词索引.
+ * 由 TextGraph.freeze() 得到的快照持有独立的不可变副本，
+ * 可被任意多个线程无锁并发查询；所有方法都不输出、不绘制.
+ */
+public final class GraphSnapshot {
+  private final Vocabulary vocabulary; // 词表
+  private final GraphStorage graph; // 邻接存储
+  private final BridgeIndex bridgeIndex; // 桥接词索引,可为 null
+  private final ThreadLocal<PointToPointSearch> searches; // 每个线程各自的两点搜索状态
+
+  /**
+   * 构造函数
+   * 直接引用给定的结构，调用者保证它们在快照使用期间不被修改.
+   *
+   * @param vocabulary  词表.
+   * @param graph       邻接存储.
+   * @param bridgeIndex 桥接词索引,可为 null.
+   */
+  GraphSnapshot(Vocabulary vocabulary, GraphStorage graph, BridgeIndex bridgeIndex) {
+    this.vocabulary = vocabulary;
+    this.graph = graph;
+    this.bridgeIndex = bridgeIndex;
+    this.searches = ThreadLocal.withInitial(() -> new PointToPointSearch(graph, null));
+  }
+
+  public int vertexCount() {
+    return graph.vertexCount();
+  }
+
+  public GraphStorage storage() {
+    return graph;
+  }
+
+  /**
+   * 获取单词的顶点编号.
+   *
+   * @param word 单词.
+   * @return 顶点编号,不在图中时返回 -1.
+   */
+  public int indexOf(String word) {
+    return vocabulary.idOf(word);
+  }
+
+  /**
+   * 获取顶点编号对应的单词.
+   *
+   * @param index 顶点编号.
+   * @return 单词.
+   */
+  public String wordOf(int index) {
+    return vocabulary.word(index);
+  }
+
+  /**
+   * 查询桥接词的顶点编号.
+   * 有桥接词索引时求出邻居与入邻居的交集，否则遍历 word1 的出边.
+   *
+   * @param v1 单词1的顶点编号.
+   * @param v2 单词2的顶点编号.
+   * @return 按编号升序排列的桥接词编号,没有时返回空数组.
+   */
+  public int[] bridgeIds(int v1, int v2) {
+    if (bridgeIndex != null) {
+      return bridgeIndex.bridges(v1, v2);
+    }
+    int[] bridges = new int[graph.outDegree(v1)];
+    int bridgeCount = 0;
+    for (int k = 0; k < graph.outDegree(v1); k++) { // 只遍历 word1 的出边
+      int i = graph.target(graph.outEdge(v1, k));
+      if (graph.findEdge(i, v2) >= 0) {
+        bridges[bridgeCount++] = i;
+      }
+    }
+    Arrays.sort(bridges, 0, bridgeCount); // 按顶点索引输出
+    return Arrays.copyOf(bridges, bridgeCount);
+  }
+
+  /**
+   * 生成新文本.
+   * 在输入文本两两相邻的单词之间插入随机选择的一个桥接词.
+   *
+   * @param inputText 用户输入的文本.
+   * @param random    随机数生成器,用于选择桥接词.
+   * @return 新文本.
+   */
+  public String generateNewText(String inputText, RandomGenerator random) {
+    Tokenizer tokens = new Tokenizer().reset(inputText); // 单遍扫描,不使用正则表达式
+    StringBuilder newText = new StringBuilder();
+    if (tokens.hasLeadingSeparator()) {
+      newText.append(' '); // 与 split 得到的空首元素保持一致
+    }
+    int v1 = -1;
+    boolean first = true;
+    while (tokens.nextInText()) {
+      int v2 = tokens.lookup(vocabulary);
+      if (!first) {
+        newText.append(' ');
+        if (v1 != -1 && v2 != -1) {
+          int[] bridges = bridgeIds(v1, v2);
+          if (bridges.length > 0) {
+            int randomIndex = random.nextInt(bridges.length);
+            newText.append(vocabulary.word(bridges[randomIndex])).append(' ');
+          }
+        }
+      }
+      newText.append(tokens.chars(), 0, tokens.length());
+      v1 = v2;
+      first = false;
+    }
+    if (first) {
+      return ""; // 没有任何单词
+    }
+    return newText.toString();
+  }
+
+  /**
+   * 计算单源最短路径树.
+   *
+   * @param source 源点编号.
+   * @return 最短路径树.
+   */
+  public ShortestPathTree shortestPathTree(int source) {
+    return ShortestPathTree.compute(graph, source);
+  }
+
+  /**
+   * 计算两点之间的最短路径.
+   * 终点确定后即停止搜索，路径与最短路径树给出的相同.
+   *
+   * @param source 源点编号.
+   * @param target 终点编号.
+   * @return 查询结果,不引用最短路径树.
+   */
+  public PathResult shortestPath(int source, int target) {
+    return searches.get().search(source, target, PointToPointSearch.Mode.DIJKSTRA);
+  }
+
+  /**
+   * 按单词计算最短路径.
+   *
+   * @param word1 单词1,规范化后为空时结果为 INVALID_WORD.
+   * @param word2 单词2,为空时计算 word1 到其他所有单词的最短路径.
+   * @return 结构化结果,到所有单词时 target 为 null,按顶点编号排列的结果在 paths 中,
+   *         每一项在读取时才计算.
+   */
+  public QueryResult shortestPaths(String word1, String word2) {
+    return shortestPaths(word1, word2, this::shortestPath, this::shortestPathTree);
+  }
+
+  /**
+   * 按单词计算最短路径,交互界面和批量模式共用.
+   *
+   * @param word1 单词1.
+   * @param word2 单词2,为空时计算 word1 到其他所有单词的最短路径.
+   * @param pair  两点之间的最短路径,例如带缓存的查询.
+   * @param trees 单源最短路径树,用于到所有单词的最短路径.
+   * @return 结构化结果.
+   */
+  QueryResult shortestPaths(String word1, String word2, ResultCache.Loader<PathResult> pair,
+                            IntFunction<ShortestPathTree> trees) {
+    word1 = Tokenizer.normalizeWord(word1);  // 去掉非字母字符并转为小写
+    word2 = Tokenizer.normalizeWord(word2);
+    if (word1.isEmpty()) {
+      // 非法word1
+      return QueryResult.invalid(QueryResult.Kind.PATH, word1, word2);
+    }
+    int v1 = vocabulary.idOf(word1); // 获取顶点索引
+    if (v1 == -1) {
+      return QueryResult.missing(QueryResult.Kind.PATH, word1, word2, word1);
+    }
+    if (!word2.isEmpty()) {
+      int v2 = vocabulary.idOf(word2); // 获取顶点索引
+      if (v2 == -1) {
+        return QueryResult.missing(QueryResult.Kind.PATH, word1, word2, word2);
+      }
+      return pathResult(pair.load(v1, v2));
+    }
+    // 计算出word1到图中其他任一单词的最短路径
+    ShortestPathTree tree = trees.apply(v1); // 只计算一次最短路径树
+    int source = v1;
+    int n = graph.vertexCount();
+    // 按顶点编号逐项排列,写出时才把每条路径转换为单词,内存只有最短路径树
+    return QueryResult.allPaths(word1, new AbstractList<>() {
+      @Override
+      public QueryResult get(int index) {
+        return pathResult(tree.result(index < source ? index : index + 1));
+      }
+
+      @Override
+      public int size() {
+        return n - 1;
+      }
+    });
+  }
+
+  /**
+   * 把顶点编号表示的最短路径转换为单词.
+   *
+   * @param result 查询结果.
+   * @return 结构化结果.
+   */
+  QueryResult pathResult(PathResult result) {
+    String word1 = vocabulary.word(result.source());
+    String word2 = vocabulary.word(result.target());
+    if (!result.isReachable()) {
+      return QueryResult.path(word1, word2, null, result.distance());
+    }
+    List<String> path = new ArrayList<>(result.length());
+    for (int v : result.path()) {
+      path.add(vocabulary.word(v));
+    }
+    return QueryResult.path(word1, word2, path, result.distance());
+  }
+}
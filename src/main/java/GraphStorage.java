@@ -0,0 +1,100 @@
+/**
+ * GraphStorage 接口
+ * 有向带权图的邻接存储.
+ * 顶点编号为 0 到 vertexCount()-1，边编号为 0 到 edgeCount()-1，
+ * 只保存实际存在的边，内存随边数增长而不是随顶点数的平方增长.
+ */
+public interface GraphStorage {
+  /**
+   * 顶点数.
+   *
+   * @return 顶点数.
+   */
+  int vertexCount();
+
+  /**
+   * 不同边的条数.
+   *
+   * @return 边数.
+   */
+  int edgeCount();
+
+  /**
+   * 顶点的出度.
+   *
+   * @param v 顶点编号.
+   * @return 出边条数.
+   */
+  int outDegree(int v);
+
+  /**
+   * 顶点的第 i 条出边.
+   *
+   * @param v 顶点编号.
+   * @param i 出边序号,0 到 outDegree(v)-1.
+   * @return 边编号.
+   */
+  int outEdge(int v, int i);
+
+  /**
+   * 顶点的入度.
+   *
+   * @param v 顶点编号.
+   * @return 入边条数.
+   */
+  int inDegree(int v);
+
+  /**
+   * 顶点的第 i 条入边.
+   *
+   * @param v 顶点编号.
+   * @param i 入边序号,0 到 inDegree(v)-1.
+   * @return 边编号.
+   */
+  int inEdge(int v, int i);
+
+  /**
+   * 边的起点.
+   *
+   * @param e 边编号.
+   * @return 起点编号.
+   */
+  int source(int e);
+
+  /**
+   * 边的终点.
+   *
+   * @param e 边编号.
+   * @return 终点编号.
+   */
+  int target(int e);
+
+  /**
+   * 边的权重.
+   *
+   * @param e 边编号.
+   * @return 权重,即相邻出现的次数.
+   */
+  int weight(int e);
+
+  /**
+   * 查找边.
+   *
+   * @param u 起点编号.
+   * @param v 终点编号.
+   * @return 边编号,不存在时返回 -1.
+   */
+  int findEdge(int u, int v);
+
+  /**
+   * 两个顶点之间边的权重.
+   *
+   * @param u 起点编号.
+   * @param v 终点编号.
+   * @return 权重,不存在边时返回 0.
+   */
+  default int weight(int u, int v) {
+    int e = findEdge(u, v);
+    return e < 0 ? 0 : weight(e);
+  }
+}
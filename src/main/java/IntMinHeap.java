@@ -0,0 +1,125 @@
+import java.util.Arrays;
+
+/**
+ * IntMinHeap 类
+ * 以顶点编号为元素、整数为键的索引二叉堆，支持降低键值.
+ * 键相同时编号小的顶点优先，保证出堆顺序确定.
+ */
+final class IntMinHeap {
+  private final int[] heap; // 堆数组,保存顶点编号
+  private final int[] pos; // 顶点在堆中的位置,-1 表示不在堆中
+  private final int[] keys; // 顶点的键
+  private int size; // 堆中元素个数
+
+  /**
+   * 构造函数.
+   *
+   * @param capacity 顶点数.
+   */
+  IntMinHeap(int capacity) {
+    heap = new int[capacity];
+    pos = new int[capacity];
+    Arrays.fill(pos, -1);
+    keys = new int[capacity];
+    size = 0;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 插入顶点,顶点已在堆中且新键更小时降低其键值.
+   *
+   * @param v   顶点编号.
+   * @param key 键.
+   */
+  void push(int v, int key) {
+    int i = pos[v];
+    if (i < 0) {
+      keys[v] = key;
+      heap[size] = v;
+      pos[v] = size;
+      siftUp(size++);
+    } else if (key < keys[v]) {
+      keys[v] = key;
+      siftUp(i);
+    }
+  }
+
+  /**
+   * 堆顶的键.
+   *
+   * @return 最小的键,堆为空时返回 Integer.MAX_VALUE.
+   */
+  int peekKey() {
+    return size == 0 ? Integer.MAX_VALUE : keys[heap[0]];
+  }
+
+  /**
+   * 清空堆,耗时与堆中剩余元素个数成正比.
+   */
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      pos[heap[i]] = -1;
+    }
+    size = 0;
+  }
+
+  /**
+   * 弹出键最小的顶点.
+   *
+   * @return 顶点编号.
+   */
+  int pop() {
+    int top = heap[0];
+    pos[top] = -1;
+    size--;
+    if (size > 0) {
+      heap[0] = heap[size];
+      pos[heap[0]] = 0;
+      siftDown(0);
+    }
+    return top;
+  }
+
+  private boolean less(int a, int b) {
+    return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+  }
+
+  private void siftUp(int i) {
+    int v = heap[i];
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!less(v, heap[parent])) {
+        break;
+      }
+      heap[i] = heap[parent];
+      pos[heap[i]] = i;
+      i = parent;
+    }
+    heap[i] = v;
+    pos[v] = i;
+  }
+
+  private void siftDown(int i) {
+    int v = heap[i];
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && less(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!less(heap[child], v)) {
+        break;
+      }
+      heap[i] = heap[child];
+      pos[heap[i]] = i;
+      i = child;
+    }
+    heap[i] = v;
+    pos[v] = i;
+  }
+}
@@ -0,0 +1,126 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JsonLinesResultWriter 类
+ * 以 JSON Lines 格式写出结果：每个结果是一行 JSON 对象，便于其他程序逐行解析.
+ * 字段：kind、status（小写），以及结果中存在（非空）的 source、target、missing、words、distance、
+ * text 和 paths（一个单词到所有单词的最短路径，元素是同样格式的对象）.
+ */
+public final class JsonLinesResultWriter implements ResultWriter {
+  private final Writer out; // 缓冲的输出流
+  private final StringBuilder line; // 重复使用的行缓冲区
+
+  /**
+   * 构造函数.
+   *
+   * @param out 输出流,不是 BufferedWriter 时自动加上缓冲.
+   */
+  public JsonLinesResultWriter(Writer out) {
+    this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+    this.line = new StringBuilder();
+  }
+
+  @Override
+  public void write(QueryResult result) throws IOException {
+    line.setLength(0);
+    object(line, result);
+    line.append('\n');
+    out.append(line);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private static void object(StringBuilder json, QueryResult result) {
+    json.append("{\"kind\":");
+    if (result.kind() == null) {
+      json.append("null");
+    } else {
+      string(json, result.kind().name().toLowerCase(Locale.ROOT));
+    }
+    json.append(",\"status\":");
+    string(json, result.status().name().toLowerCase(Locale.ROOT));
+    field(json, "source", result.source());
+    field(json, "target", result.target());
+    field(json, "missing", result.missing());
+    if (!result.words().isEmpty()) {
+      json.append(",\"words\":");
+      array(json, result.words());
+    }
+    if (result.distance() != QueryResult.NO_DISTANCE) {
+      json.append(",\"distance\":").append(result.distance());
+    }
+    field(json, "text", result.text());
+    if (!result.paths().isEmpty()) {
+      json.append(",\"paths\":[");
+      for (int i = 0; i < result.paths().size(); i++) {
+        if (i > 0) {
+          json.append(',');
+        }
+        object(json, result.paths().get(i));
+      }
+      json.append(']');
+    }
+    json.append('}');
+  }
+
+  private static void field(StringBuilder json, String name, String value) {
+    if (value != null) {
+      json.append(",\"").append(name).append("\":");
+      string(json, value);
+    }
+  }
+
+  private static void array(StringBuilder json, List<String> values) {
+    json.append('[');
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      string(json, values.get(i));
+    }
+    json.append(']');
+  }
+
+  private static void string(StringBuilder json, String value) {
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    json.append('"');
+  }
+}
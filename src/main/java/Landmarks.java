@@ -0,0 +1,148 @@
+import java.util.Arrays;
+
+/**
+ * Landmarks 类
+ * ALT（A*、地标、三角不等式）搜索使用的地标距离.
+ * 对每个地标 L 预先计算 d(L, x) 和 d(x, L)，由三角不等式得到任意顶点到终点距离的下界：
+ * d(v, t) >= d(L, t) - d(L, v)，d(v, t) >= d(v, L) - d(t, L).
+ * 地标按最远点策略选择：第一个是度数最大的顶点，之后每次选离已有地标最远的可达顶点.
+ * 构建后只读，可被多个线程并发使用.
+ */
+public final class Landmarks {
+  private static final int UNREACHABLE = ShortestPathTree.UNREACHABLE;
+  private final int[] landmarks; // 地标顶点编号
+  private final int[][] from; // from[i][x] = d(L_i, x)
+  private final int[][] to; // to[i][x] = d(x, L_i)
+
+  private Landmarks(int[] landmarks, int[][] from, int[][] to) {
+    this.landmarks = landmarks;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * 选择地标并计算距离,需要 2 * count 次单源最短路径搜索.
+   *
+   * @param graph 邻接存储,之后不能被修改.
+   * @param count 地标个数.
+   * @return 地标距离.
+   */
+  public static Landmarks compute(GraphStorage graph, int count) {
+    int n = graph.vertexCount();
+    count = Math.min(Math.max(count, 0), n);
+    int[] landmarks = new int[count];
+    int[][] from = new int[count][];
+    int[][] to = new int[count][];
+    int[] nearest = new int[n]; // 到已选地标的最小距离,用于选择下一个地标
+    Arrays.fill(nearest, UNREACHABLE);
+    int next = 0;
+    for (int v = 1; v < n; v++) {
+      if (degree(graph, v) > degree(graph, next)) {
+        next = v;
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      landmarks[i] = next;
+      from[i] = distances(graph, next, true);
+      to[i] = distances(graph, next, false);
+      next = -1;
+      for (int v = 0; v < n; v++) {
+        int d = Math.min(from[i][v], to[i][v]);
+        nearest[v] = Math.min(nearest[v], d);
+        if (nearest[v] != 0 && (next == -1 || farther(nearest[v], nearest[next]))) {
+          next = v;
+        }
+      }
+      if (next == -1) {
+        return new Landmarks(Arrays.copyOf(landmarks, i + 1), Arrays.copyOf(from, i + 1),
+                Arrays.copyOf(to, i + 1)); // 所有顶点都已是地标
+      }
+    }
+    return new Landmarks(landmarks, from, to);
+  }
+
+  private static int degree(GraphStorage graph, int v) {
+    return graph.outDegree(v) + graph.inDegree(v);
+  }
+
+  /**
+   * 优先选择有限距离中最远的顶点,与所有地标都不连通的顶点放在最后.
+   */
+  private static boolean farther(int a, int b) {
+    if (a == UNREACHABLE) {
+      return false;
+    }
+    return b == UNREACHABLE || a > b;
+  }
+
+  /**
+   * Dijkstra,forward 为 false 时沿入边计算各顶点到源点的距离.
+   */
+  private static int[] distances(GraphStorage graph, int source, boolean forward) {
+    int n = graph.vertexCount();
+    int[] dist = new int[n];
+    Arrays.fill(dist, UNREACHABLE);
+    boolean[] settled = new boolean[n];
+    IntMinHeap heap = new IntMinHeap(n);
+    dist[source] = 0;
+    heap.push(source, 0);
+    while (!heap.isEmpty()) {
+      int u = heap.pop();
+      settled[u] = true;
+      int degree = forward ? graph.outDegree(u) : graph.inDegree(u);
+      for (int k = 0; k < degree; k++) {
+        int e = forward ? graph.outEdge(u, k) : graph.inEdge(u, k);
+        int v = forward ? graph.target(e) : graph.source(e);
+        int d = dist[u] + graph.weight(e);
+        if (!settled[v] && d < dist[v]) {
+          dist[v] = d;
+          heap.push(v, d);
+        }
+      }
+    }
+    return dist;
+  }
+
+  public int count() {
+    return landmarks.length;
+  }
+
+  /**
+   * 地标顶点编号.
+   *
+   * @return 按选择顺序排列的顶点编号.
+   */
+  public int[] landmarks() {
+    return landmarks.clone();
+  }
+
+  /**
+   * 顶点到终点距离的下界.
+   *
+   * @param v      顶点编号.
+   * @param target 终点编号.
+   * @return 下界,能证明 v 不能到达终点时返回 ShortestPathTree.UNREACHABLE.
+   */
+  public int lowerBound(int v, int target) {
+    int bound = 0;
+    for (int i = 0; i < landmarks.length; i++) {
+      int lv = from[i][v];
+      int lt = from[i][target];
+      if (lv != UNREACHABLE) {
+        if (lt == UNREACHABLE) {
+          return UNREACHABLE; // L 能到达 v 却不能到达终点,v 也不能
+        }
+        bound = Math.max(bound, lt - lv);
+      }
+      int vl = to[i][v];
+      int tl = to[i][target];
+      if (tl != UNREACHABLE) {
+        if (vl == UNREACHABLE) {
+          return UNREACHABLE; // 终点能到达 L 而 v 不能,v 不能到达终点
+        }
+        bound = Math.max(bound, vl - tl);
+      }
+    }
+    return bound;
+  }
+}
@@ -0,0 +1,126 @@
+/**
+ * LatencyHistogram 类
+ * 对数分桶的延迟直方图，记录纳秒级延迟并估计分位数.
+ * 小于 64 的值精确记录，更大的值按 2 的幂分段、每段 32 个子桶，相对误差不超过约 3%.
+ * 非线程安全，多线程统计时每个线程各用一个，最后用 merge 合并，
+ * 或使用 ConcurrentLatencyHistogram 并发记录后取快照.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKETS = 32; // 每段子桶数
+  private static final int LINEAR = 2 * SUB_BUCKETS; // 精确记录的区间 [0, 64)
+  static final int BUCKETS = LINEAR + 57 * SUB_BUCKETS; // 覆盖到 Long.MAX_VALUE
+  private final long[] counts; // 各桶计数
+  private long count; // 记录次数
+  private long sum; // 总和
+  private long max; // 最大值
+
+  /**
+   * 构造函数
+   * 初始化空直方图.
+   */
+  public LatencyHistogram() {
+    counts = new long[BUCKETS];
+    count = 0;
+    sum = 0;
+    max = 0;
+  }
+
+  /**
+   * 构造函数
+   * 由已统计的各桶计数构造，用于并发直方图的快照.
+   *
+   * @param counts 各桶计数,长度为 BUCKETS,不复制.
+   * @param count  记录次数.
+   * @param sum    总和.
+   * @param max    最大值.
+   */
+  LatencyHistogram(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * 记录一个值.
+   *
+   * @param value 延迟,单位纳秒,负数按 0 处理.
+   */
+  public void record(long value) {
+    value = Math.max(value, 0);
+    counts[bucketOf(value)]++;
+    count++;
+    sum += value;
+    max = Math.max(max, value);
+  }
+
+  /**
+   * 合并另一个直方图.
+   *
+   * @param other 另一个直方图.
+   */
+  public void merge(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    sum += other.sum;
+    max = Math.max(max, other.max);
+  }
+
+  public long count() {
+    return count;
+  }
+
+  public long max() {
+    return max;
+  }
+
+  /**
+   * 平均值.
+   *
+   * @return 平均值,没有记录时返回 0.
+   */
+  public double mean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * 估计分位数.
+   *
+   * @param percentile 百分位,0 到 100.
+   * @return 该分位所在桶的上界,不超过最大值.
+   */
+  public long percentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100.0 * count);
+    rank = Math.min(Math.max(rank, 1), count);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), max);
+      }
+    }
+    return max;
+  }
+
+  static int bucketOf(long value) {
+    if (value < LINEAR) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - 5; // 使 value >>> shift 落在 [32, 64)
+    return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < LINEAR) {
+      return bucket;
+    }
+    int shift = (bucket - LINEAR) / SUB_BUCKETS + 1;
+    long sub = (bucket - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;
+  }
+}
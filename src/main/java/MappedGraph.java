@@ -0,0 +1,93 @@
+import java.nio.IntBuffer;
+
+/**
+ * MappedGraph 类
+ * 直接读取内存映射文件的只读 CSR 邻接存储.
+ * 各数组是映射区域上的 IntBuffer 视图，加载时不复制到堆中，
+ * 多个进程映射同一文件时共享操作系统的页缓存；可被多个线程并发读取.
+ * 文件布局见 GraphFile.
+ */
+final class MappedGraph implements GraphStorage {
+  private final IntBuffer outOffsets; // 出边起始位置,长度 V+1
+  private final IntBuffer sources; // 边的起点
+  private final IntBuffer targets; // 边的终点,行内升序
+  private final IntBuffer weights; // 边的权重
+  private final IntBuffer inOffsets; // 入边起始位置,长度 V+1
+  private final IntBuffer inEdges; // 入边编号
+
+  MappedGraph(IntBuffer outOffsets, IntBuffer sources, IntBuffer targets, IntBuffer weights,
+              IntBuffer inOffsets, IntBuffer inEdges) {
+    this.outOffsets = outOffsets;
+    this.sources = sources;
+    this.targets = targets;
+    this.weights = weights;
+    this.inOffsets = inOffsets;
+    this.inEdges = inEdges;
+  }
+
+  @Override
+  public int vertexCount() {
+    return outOffsets.limit() - 1;
+  }
+
+  @Override
+  public int edgeCount() {
+    return targets.limit();
+  }
+
+  @Override
+  public int outDegree(int v) {
+    return outOffsets.get(v + 1) - outOffsets.get(v);
+  }
+
+  @Override
+  public int outEdge(int v, int i) {
+    return outOffsets.get(v) + i;
+  }
+
+  @Override
+  public int inDegree(int v) {
+    return inOffsets.get(v + 1) - inOffsets.get(v);
+  }
+
+  @Override
+  public int inEdge(int v, int i) {
+    return inEdges.get(inOffsets.get(v) + i);
+  }
+
+  @Override
+  public int source(int e) {
+    return sources.get(e);
+  }
+
+  @Override
+  public int target(int e) {
+    return targets.get(e);
+  }
+
+  @Override
+  public int weight(int e) {
+    return weights.get(e);
+  }
+
+  @Override
+  public int findEdge(int u, int v) {
+    if (u < 0 || u >= vertexCount()) {
+      return -1;
+    }
+    int low = outOffsets.get(u);
+    int high = outOffsets.get(u + 1) - 1;
+    while (low <= high) { // 行内终点升序,二分查找
+      int mid = (low + high) >>> 1;
+      int t = targets.get(mid);
+      if (t < v) {
+        low = mid + 1;
+      } else if (t > v) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,31 @@
+/**
+ * MetricsSink 接口
+ * 接收 GraphMetrics 发布的指标，例如转发给监控系统或写入日志.
+ * 指标名以点分隔，例如 graph.vertices、query.bridge.
+ * GraphMetrics.publish 在调用线程中依次调用各方法，实现不应长时间阻塞.
+ */
+public interface MetricsSink {
+  /**
+   * 单调递增的计数.
+   *
+   * @param name  指标名.
+   * @param value 累计值.
+   */
+  void counter(String name, long value);
+
+  /**
+   * 当前值.
+   *
+   * @param name  指标名.
+   * @param value 当前值.
+   */
+  void gauge(String name, double value);
+
+  /**
+   * 延迟分布.
+   *
+   * @param name      指标名.
+   * @param histogram 快照,单位纳秒.
+   */
+  void histogram(String name, LatencyHistogram histogram);
+}
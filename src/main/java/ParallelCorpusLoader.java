@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ParallelCorpusLoader 类
+ * 并行读取多个文件构建图.
+ * 文件按顺序切成若干片段（大文件在单词边界处切开），每个片段在 fork-join 线程池中
+ * 独立分词得到局部图，再按原顺序两两合并.
+ * 结果与依次对每个文件调用 TextGraph.appendFile 完全相同.
+ * 文件按 UTF-8 处理：多字节字符的每个字节都不是英文字母，因此直接按字节分词与按字符分词等价.
+ * 不合法的字节序列同样当作分隔符，与 TextGraph 依次读取时把它们替换为 U+FFFD 的结果相同.
+ */
+public class ParallelCorpusLoader {
+  /** 默认片段大小. */
+  public static final long DEFAULT_CHUNK_SIZE = 8L << 20;
+  private final ForkJoinPool pool; // 线程池
+  private final long chunkSize; // 片段大小,单位字节
+
+  /**
+   * 构造函数
+   * 使用公共 fork-join 线程池和默认片段大小.
+   */
+  public ParallelCorpusLoader() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * 构造函数.
+   *
+   * @param pool      线程池.
+   * @param chunkSize 片段大小,单位字节.
+   */
+  public ParallelCorpusLoader(ForkJoinPool pool, long chunkSize) {
+    this.pool = pool;
+    this.chunkSize = Math.max(chunkSize, 1);
+  }
+
+  /**
+   * 列出目录下的所有普通文件,按路径排序.
+   *
+   * @param directory 目录.
+   * @return 文件列表.
+   * @throws IOException 文件读写异常.
+   */
+  public static List<Path> listFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * 并行读取文件.
+   *
+   * @param files 按顺序排列的文件.
+   * @return 合并后的局部图.
+   * @throws IOException 文件读写异常.
+   */
+  PartialGraph load(List<Path> files) throws IOException {
+    List<Chunk> chunks = new ArrayList<>();
+    for (Path file : files) {
+      split(file, chunks);
+    }
+    if (chunks.isEmpty()) {
+      return new PartialGraph();
+    }
+    try {
+      return pool.invoke(new LoadTask(chunks, 0, chunks.size()));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * 把文件切成片段,切分点推迟到单词结束处.
+   */
+  private void split(Path file, List<Chunk> chunks) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long start = 0;
+      ByteBuffer one = ByteBuffer.allocate(1);
+      while (start < size) {
+        long end = Math.min(start + chunkSize, size);
+        boolean inWord = end < size && isLetter(byteAt(channel, end - 1, one));
+        while (inWord && end < size && isLetter(byteAt(channel, end, one))) {
+          end++;
+        }
+        chunks.add(new Chunk(file, start, end));
+        start = end;
+      }
+    }
+  }
+
+  private static byte byteAt(FileChannel channel, long position, ByteBuffer one)
+          throws IOException {
+    one.clear();
+    channel.read(one, position);
+    return one.get(0);
+  }
+
+  private static boolean isLetter(byte b) {
+    return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+  }
+
+  /**
+   * 对一个片段分词.
+   */
+  private static PartialGraph tokenize(Chunk chunk) throws IOException {
+    byte[] bytes = new byte[(int) (chunk.end - chunk.start)];
+    try (FileChannel channel = FileChannel.open(chunk.file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, chunk.start + buffer.position()) < 0) {
+          break; // 文件在读取期间变短
+        }
+      }
+    }
+    PartialGraph partial = new PartialGraph();
+    Tokenizer tokens = new Tokenizer().reset(bytes, 0, bytes.length);
+    while (tokens.nextInText()) {
+      partial.add(tokens.intern(partial.vocabulary())); // 只为新单词创建字符串
+    }
+    return partial;
+  }
+
+  /**
+   * 文件中的一个片段 [start, end).
+   */
+  private static final class Chunk {
+    private final Path file;
+    private final long start;
+    private final long end;
+
+    private Chunk(Path file, long start, long end) {
+      this.file = file;
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  /**
+   * 分治读取片段区间 [from, to) 并按顺序合并.
+   */
+  private static final class LoadTask extends RecursiveTask<PartialGraph> {
+    private final List<Chunk> chunks;
+    private final int from;
+    private final int to;
+
+    private LoadTask(List<Chunk> chunks, int from, int to) {
+      this.chunks = chunks;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected PartialGraph compute() {
+      if (to - from == 1) {
+        try {
+          return tokenize(chunks.get(from));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      int mid = (from + to) >>> 1;
+      LoadTask left = new LoadTask(chunks, from, mid);
+      left.fork();
+      PartialGraph right = new LoadTask(chunks, mid, to).compute();
+      PartialGraph merged = left.join();
+      merged.append(right); // 左侧在前,保持原文顺序
+      return merged;
+    }
+  }
+}
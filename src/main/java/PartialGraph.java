@@ -0,0 +1,82 @@
+/**
+ * PartialGraph 类
+ * 一段连续文本构成的局部图：局部词表、局部边权重以及首尾单词.
+ * 两个相邻片段的局部图可以按顺序合并，合并结果与直接读取拼接后的文本完全相同，
+ * 包括顶点编号和边编号（均按第一次出现的顺序分配）.
+ */
+final class PartialGraph {
+  private final Vocabulary vocabulary; // 局部词表
+  private final SparseGraph graph; // 局部邻接存储
+  private int first; // 第一个单词的局部编号,-1 表示没有单词
+  private int last; // 最后一个单词的局部编号
+  private int transitions; // 相邻单词对的个数,即 TextGraph 的边数
+
+  PartialGraph() {
+    vocabulary = new Vocabulary();
+    graph = new SparseGraph(0);
+    first = -1;
+    last = -1;
+    transitions = 0;
+  }
+
+  /**
+   * 在末尾加入一个单词.
+   *
+   * @param v 单词在本局部词表中的编号.
+   */
+  void add(int v) {
+    if (last == -1) {
+      first = v;
+    } else {
+      graph.addEdge(last, v, 1);
+      transitions++;
+    }
+    last = v;
+  }
+
+  /**
+   * 把紧随其后的片段合并到本局部图末尾.
+   * 右侧片段的新单词按其局部编号顺序加入词表，连接两段的边先于右侧内部的边加入.
+   *
+   * @param right 紧随其后的片段.
+   */
+  void append(PartialGraph right) {
+    if (right.first == -1) {
+      return;
+    }
+    int[] map = new int[right.vocabulary.size()]; // 右侧局部编号 -> 合并后编号
+    for (int i = 0; i < map.length; i++) {
+      map[i] = vocabulary.intern(right.vocabulary.word(i));
+    }
+    if (last == -1) {
+      first = map[right.first];
+    } else {
+      graph.addEdge(last, map[right.first], 1); // 跨片段的边
+      transitions++;
+    }
+    for (int e = 0; e < right.graph.edgeCount(); e++) {
+      graph.addEdge(map[right.graph.source(e)], map[right.graph.target(e)],
+              right.graph.weight(e));
+    }
+    transitions += right.transitions;
+    last = map[right.last];
+    graph.ensureVertexCount(vocabulary.size());
+  }
+
+  Vocabulary vocabulary() {
+    return vocabulary;
+  }
+
+  SparseGraph graph() {
+    graph.ensureVertexCount(vocabulary.size());
+    return graph;
+  }
+
+  int last() {
+    return last;
+  }
+
+  int transitions() {
+    return transitions;
+  }
+}
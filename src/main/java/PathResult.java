@@ -0,0 +1,106 @@
+import java.util.List;
+
+/**
+ * PathResult 类
+ * 最短路径查询结果，只包含顶点编号和距离，不做任何输出或绘制.
+ */
+public final class PathResult {
+  private final ShortestPathTree tree; // 最短路径树,分离后为 null
+  private final int source; // 源点编号
+  private final int target; // 终点编号
+  private final int distance; // 最短距离
+  private final int[] path; // 最短路径,不可达时为 null
+
+  /**
+   * 构造函数.
+   *
+   * @param tree   源点的最短路径树.
+   * @param target 终点编号.
+   */
+  PathResult(ShortestPathTree tree, int target) {
+    this(tree, tree.source(), target, tree.distance(target), tree.pathTo(target));
+  }
+
+  private PathResult(ShortestPathTree tree, int source, int target, int distance, int[] path) {
+    this.tree = tree;
+    this.source = source;
+    this.target = target;
+    this.distance = distance;
+    this.path = path;
+  }
+
+  /**
+   * 不依赖最短路径树的查询结果,用于点对点搜索.
+   *
+   * @param source   源点编号.
+   * @param target   终点编号.
+   * @param distance 最短距离,不可达时为 ShortestPathTree.UNREACHABLE.
+   * @param path     最短路径,不可达时为 null.
+   * @return 查询结果,allPaths 只返回 path 这一条路径.
+   */
+  static PathResult of(int source, int target, int distance, int[] path) {
+    return new PathResult(null, source, target, distance, path);
+  }
+
+  /**
+   * 不引用最短路径树的副本,内存与路径长度成正比,适合长期缓存.
+   * 副本的 allPaths 只返回 path() 这一条路径.
+   *
+   * @return 分离的查询结果.
+   */
+  public PathResult detach() {
+    return tree == null ? this : new PathResult(null, source, target, distance, path);
+  }
+
+  public int source() {
+    return source;
+  }
+
+  public int target() {
+    return target;
+  }
+
+  public boolean isReachable() {
+    return path != null;
+  }
+
+  /**
+   * 最短距离.
+   *
+   * @return 距离,不可达时返回 ShortestPathTree.UNREACHABLE.
+   */
+  public int distance() {
+    return distance;
+  }
+
+  /**
+   * 一条最短路径.
+   *
+   * @return 从源点到终点的顶点编号序列,不可达时返回 null.
+   */
+  public int[] path() {
+    return path == null ? null : path.clone();
+  }
+
+  /**
+   * 所有等长的最短路径.
+   *
+   * @param limit 最多返回的路径条数.
+   * @return 顶点编号序列的列表,不可达时为空列表.
+   */
+  public List<int[]> allPaths(int limit) {
+    if (tree == null) {
+      return path == null || limit <= 0 ? List.of() : List.of(path.clone());
+    }
+    return tree.allPathsTo(target, limit);
+  }
+
+  /**
+   * 路径长度.
+   *
+   * @return 路径上的顶点数,不可达时为 0.
+   */
+  public int length() {
+    return path == null ? 0 : path.length;
+  }
+}
@@ -0,0 +1,251 @@
+import java.util.Arrays;
+
+/**
+ * PointToPointSearch 类
+ * 两点之间的最短路径搜索，终点确定后立即停止，不计算整棵最短路径树.
+ * 三种方式：
+ * 1. DIJKSTRA       单向 Dijkstra，终点出堆即停止；结果与 ShortestPathTree 完全相同，包括等长路径的选择.
+ * 2. BIDIRECTIONAL  沿出边从源点、沿入边从终点交替搜索，两侧堆顶键之和不小于已知最短距离时停止.
+ * 3. ALT            以地标距离下界为势函数的 A* 搜索，需要预先计算的 Landmarks，没有时按 DIJKSTRA 搜索.
+ * 后两种方式得到的距离相同，但等长最短路径可能选择不同的一条.
+ * 搜索状态按代号复用，每次查询的耗时只与访问过的顶点数有关，与图的大小无关.
+ * 非线程安全，每个线程各用一个.
+ */
+public final class PointToPointSearch {
+  private static final int UNREACHABLE = ShortestPathTree.UNREACHABLE;
+  private final GraphStorage graph; // 邻接存储
+  private final Landmarks landmarks; // 地标距离,可为 null
+  private Side forward; // 从源点出发的搜索
+  private Side backward; // 从终点出发沿入边的搜索
+  private int settled; // 上一次查询确定距离的顶点数
+
+  /**
+   * 搜索方式.
+   */
+  public enum Mode {
+    /** 单向 Dijkstra,终点出堆即停止. */
+    DIJKSTRA,
+    /** 双向 Dijkstra. */
+    BIDIRECTIONAL,
+    /** 以地标下界为势函数的 A*. */
+    ALT
+  }
+
+  /**
+   * 构造函数.
+   *
+   * @param graph     邻接存储,可以增长,每次搜索时按当前顶点数扩容.
+   * @param landmarks 地标距离,可为 null.
+   */
+  public PointToPointSearch(GraphStorage graph, Landmarks landmarks) {
+    this.graph = graph;
+    this.landmarks = landmarks;
+    forward = new Side(graph.vertexCount());
+    backward = new Side(graph.vertexCount());
+  }
+
+  /**
+   * 搜索两点之间的最短路径.
+   *
+   * @param source 源点编号.
+   * @param target 终点编号.
+   * @param mode   搜索方式.
+   * @return 查询结果,不引用最短路径树.
+   */
+  public PathResult search(int source, int target, Mode mode) {
+    int n = graph.vertexCount();
+    if (forward.capacity() < n) {
+      forward = new Side(n);
+      backward = new Side(n);
+    }
+    forward.reset();
+    backward.reset();
+    settled = 0;
+    if (mode == Mode.BIDIRECTIONAL) {
+      return bidirectional(source, target);
+    }
+    return goalDirected(source, target, mode == Mode.ALT ? landmarks : null);
+  }
+
+  /**
+   * 上一次查询确定距离的顶点数,用于衡量搜索空间.
+   *
+   * @return 顶点数.
+   */
+  public int settled() {
+    return settled;
+  }
+
+  /**
+   * 单向搜索,有地标时按 A* 以 距离 + 下界 为键.
+   * 下界满足三角不等式,终点出堆时距离已确定.
+   */
+  private PathResult goalDirected(int source, int target, Landmarks landmarks) {
+    Side side = forward;
+    side.reach(source, 0, -1);
+    side.heap.push(source, 0);
+    while (!side.heap.isEmpty()) {
+      int u = side.heap.pop();
+      side.settle(u);
+      settled++;
+      if (u == target) {
+        return PathResult.of(source, target, side.distance(target), path(source, target, -1));
+      }
+      int du = side.distance(u);
+      for (int k = 0; k < graph.outDegree(u); k++) {
+        int e = graph.outEdge(u, k);
+        int v = graph.target(e);
+        int d = du + graph.weight(e);
+        if (!side.isSettled(v) && d < side.distance(v)) {
+          int bound = landmarks == null ? 0 : landmarks.lowerBound(v, target);
+          if (bound == UNREACHABLE) {
+            continue; // v 不能到达终点
+          }
+          side.reach(v, d, u);
+          side.heap.push(v, d + bound);
+        }
+      }
+    }
+    return PathResult.of(source, target, UNREACHABLE, null);
+  }
+
+  /**
+   * 双向 Dijkstra,每次扩展堆顶键较小的一侧.
+   */
+  private PathResult bidirectional(int source, int target) {
+    if (source == target) {
+      settled = 1;
+      return PathResult.of(source, target, 0, new int[]{source});
+    }
+    forward.reach(source, 0, -1);
+    forward.heap.push(source, 0);
+    backward.reach(target, 0, -1);
+    backward.heap.push(target, 0);
+    int best = UNREACHABLE; // 已知的最短距离
+    int meet = -1; // 最短路径上两侧相遇的顶点
+    while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+      long top = (long) forward.heap.peekKey() + backward.heap.peekKey();
+      if (top >= best) {
+        break; // 任何未确定的路径都不会更短
+      }
+      boolean outgoing = forward.heap.peekKey() <= backward.heap.peekKey();
+      Side side = outgoing ? forward : backward;
+      Side other = outgoing ? backward : forward;
+      int u = side.heap.pop();
+      side.settle(u);
+      settled++;
+      int du = side.distance(u);
+      int degree = outgoing ? graph.outDegree(u) : graph.inDegree(u);
+      for (int k = 0; k < degree; k++) {
+        int e = outgoing ? graph.outEdge(u, k) : graph.inEdge(u, k);
+        int v = outgoing ? graph.target(e) : graph.source(e);
+        int d = du + graph.weight(e);
+        if (!side.isSettled(v) && d < side.distance(v)) {
+          side.reach(v, d, u);
+          side.heap.push(v, d);
+        }
+        int dv = other.distance(v);
+        if (dv != UNREACHABLE && d < best - dv) { // d + dv < best,避免溢出
+          best = d + dv;
+          meet = v;
+        }
+      }
+    }
+    if (meet == -1) {
+      return PathResult.of(source, target, UNREACHABLE, null);
+    }
+    return PathResult.of(source, target, best, path(source, target, meet));
+  }
+
+  /**
+   * 由前驱还原路径;meet 不为 -1 时后半段沿反向搜索的前驱走到终点.
+   */
+  private int[] path(int source, int target, int meet) {
+    int end = meet == -1 ? target : meet;
+    int length = 1;
+    for (int v = end; v != source; v = forward.parent(v)) {
+      length++;
+    }
+    if (meet != -1) {
+      for (int v = meet; v != target; v = backward.parent(v)) {
+        length++;
+      }
+    }
+    int[] path = new int[length];
+    int i = 0;
+    for (int v = end; ; v = forward.parent(v)) {
+      path[i++] = v;
+      if (v == source) {
+        break;
+      }
+    }
+    for (int a = 0, b = i - 1; a < b; a++, b--) {
+      int t = path[a];
+      path[a] = path[b];
+      path[b] = t;
+    }
+    if (meet != -1) {
+      for (int v = meet; v != target; ) {
+        v = backward.parent(v);
+        path[i++] = v;
+      }
+    }
+    return path;
+  }
+
+  /**
+   * 一侧的搜索状态
+   * 距离和前驱只在 reached[v] 等于当前代号时有效，换代即清空，不需要重新填充数组.
+   */
+  private static final class Side {
+    private final int[] dist; // 距离
+    private final int[] parent; // 前驱,反向搜索时为通往终点的下一个顶点
+    private final int[] reached; // 距离有效时的代号
+    private final int[] done; // 距离确定时的代号
+    private final IntMinHeap heap; // 待扩展的顶点
+    private int generation; // 当前代号
+
+    private Side(int capacity) {
+      dist = new int[capacity];
+      parent = new int[capacity];
+      reached = new int[capacity];
+      done = new int[capacity];
+      heap = new IntMinHeap(capacity);
+    }
+
+    private int capacity() {
+      return dist.length;
+    }
+
+    private void reset() {
+      heap.clear();
+      if (++generation == 0) { // 代号回绕时真正清空
+        Arrays.fill(reached, 0);
+        Arrays.fill(done, 0);
+        generation = 1;
+      }
+    }
+
+    private int distance(int v) {
+      return reached[v] == generation ? dist[v] : UNREACHABLE;
+    }
+
+    private int parent(int v) {
+      return parent[v];
+    }
+
+    private void reach(int v, int d, int from) {
+      reached[v] = generation;
+      dist[v] = d;
+      parent[v] = from;
+    }
+
+    private void settle(int v) {
+      done[v] = generation;
+    }
+
+    private boolean isSettled(int v) {
+      return done[v] == generation;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+import java.util.List;
+
+/**
+ * QueryResult 类
+ * 一次查询的结构化结果，与输出格式无关，由 ResultWriter 格式化为文本或 JSON.
+ * 单词列表的含义取决于查询：桥接词、最短路径上的单词或随机游走经过的单词.
+ * 查询一个单词到所有单词的最短路径时，target 为 null，每个终点的结果在 paths 中.
+ */
+public final class QueryResult {
+  /** 没有距离时的 distance. */
+  public static final int NO_DISTANCE = -1;
+  private final Kind kind; // 查询种类,无法识别的查询为 null
+  private final Status status; // 结果状态
+  private final String source; // 第一个单词或输入文本
+  private final String target; // 第二个单词,没有时为 null
+  private final String missing; // 不在图中的单词,仅用于 MISSING_WORD
+  private final List<String> words; // 结果中的单词
+  private final int distance; // 路径距离
+  private final String text; // 生成的新文本或错误信息
+  private final List<QueryResult> paths; // 到各终点的最短路径
+
+  /**
+   * 查询种类.
+   */
+  public enum Kind {
+    /** 查询桥接词. */
+    BRIDGE,
+    /** 生成新文本. */
+    GENERATE,
+    /** 计算最短路径. */
+    PATH,
+    /** 随机游走. */
+    WALK
+  }
+
+  /**
+   * 结果状态.
+   */
+  public enum Status {
+    /** 有结果. */
+    OK,
+    /** 单词不合法. */
+    INVALID_WORD,
+    /** 单词不在图中. */
+    MISSING_WORD,
+    /** 没有桥接词或路径不可达. */
+    NOT_FOUND,
+    /** 查询无法识别或计算出错. */
+    ERROR
+  }
+
+  private QueryResult(Kind kind, Status status, String source, String target, String missing,
+                      List<String> words, int distance, String text, List<QueryResult> paths) {
+    this.kind = kind;
+    this.status = status;
+    this.source = source;
+    this.target = target;
+    this.missing = missing;
+    this.words = words;
+    this.distance = distance;
+    this.text = text;
+    this.paths = paths;
+  }
+
+  /**
+   * 桥接词.
+   *
+   * @param word1   第一个单词.
+   * @param word2   第二个单词.
+   * @param bridges 桥接词,为空时状态为 NOT_FOUND.
+   * @return 结果.
+   */
+  public static QueryResult bridge(String word1, String word2, List<String> bridges) {
+    return new QueryResult(Kind.BRIDGE, bridges.isEmpty() ? Status.NOT_FOUND : Status.OK, word1,
+            word2, null, List.copyOf(bridges), NO_DISTANCE, null, List.of());
+  }
+
+  /**
+   * 单词不在图中.
+   *
+   * @param kind    查询种类.
+   * @param word1   第一个单词.
+   * @param word2   第二个单词,可为 null.
+   * @param missing 不在图中的单词.
+   * @return 结果.
+   */
+  public static QueryResult missing(Kind kind, String word1, String word2, String missing) {
+    return new QueryResult(kind, Status.MISSING_WORD, word1, word2, missing, List.of(),
+            NO_DISTANCE, null, List.of());
+  }
+
+  /**
+   * 第一个单词不合法.
+   *
+   * @param kind  查询种类.
+   * @param word1 第一个单词.
+   * @param word2 第二个单词,可为 null.
+   * @return 结果.
+   */
+  public static QueryResult invalid(Kind kind, String word1, String word2) {
+    return new QueryResult(kind, Status.INVALID_WORD, word1, word2, null, List.of(),
+            NO_DISTANCE, null, List.of());
+  }
+
+  /**
+   * 生成的新文本.
+   *
+   * @param inputText 输入文本.
+   * @param newText   新文本.
+   * @return 结果.
+   */
+  public static QueryResult generated(String inputText, String newText) {
+    return new QueryResult(Kind.GENERATE, Status.OK, inputText, null, null, List.of(),
+            NO_DISTANCE, newText, List.of());
+  }
+
+  /**
+   * 两个单词之间的最短路径.
+   *
+   * @param word1    起点.
+   * @param word2    终点.
+   * @param path     路径上的单词,不可达时为 null.
+   * @param distance 距离.
+   * @return 结果,不可达时状态为 NOT_FOUND.
+   */
+  public static QueryResult path(String word1, String word2, List<String> path, int distance) {
+    if (path == null) {
+      return new QueryResult(Kind.PATH, Status.NOT_FOUND, word1, word2, null, List.of(),
+              NO_DISTANCE, null, List.of());
+    }
+    return new QueryResult(Kind.PATH, Status.OK, word1, word2, null, List.copyOf(path), distance,
+            null, List.of());
+  }
+
+  /**
+   * 一个单词到所有其他单词的最短路径.
+   *
+   * 不复制 paths，它可以是在读取每一项时才计算的只读列表，写出结果时不必保存所有路径.
+   *
+   * @param word1 起点.
+   * @param paths 按终点的顶点编号排列的结果,不可修改.
+   * @return 结果.
+   */
+  public static QueryResult allPaths(String word1, List<QueryResult> paths) {
+    return new QueryResult(Kind.PATH, Status.OK, word1, null, null, List.of(), NO_DISTANCE, null,
+            paths);
+  }
+
+  /**
+   * 随机游走.
+   *
+   * @param walk 经过的单词.
+   * @return 结果.
+   */
+  public static QueryResult walk(List<String> walk) {
+    return new QueryResult(Kind.WALK, Status.OK, null, null, null, List.copyOf(walk), NO_DISTANCE,
+            null, List.of());
+  }
+
+  /**
+   * 查询出错.
+   *
+   * @param kind    查询种类,无法识别时为 null.
+   * @param message 错误信息.
+   * @return 结果.
+   */
+  public static QueryResult error(Kind kind, String message) {
+    return new QueryResult(kind, Status.ERROR, null, null, null, List.of(), NO_DISTANCE, message,
+            List.of());
+  }
+
+  public Kind kind() {
+    return kind;
+  }
+
+  public Status status() {
+    return status;
+  }
+
+  public String source() {
+    return source;
+  }
+
+  public String target() {
+    return target;
+  }
+
+  public String missing() {
+    return missing;
+  }
+
+  public List<String> words() {
+    return words;
+  }
+
+  public int distance() {
+    return distance;
+  }
+
+  public String text() {
+    return text;
+  }
+
+  public List<QueryResult> paths() {
+    return paths;
+  }
+}
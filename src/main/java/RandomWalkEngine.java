@@ -0,0 +1,276 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * RandomWalkEngine 类
+ * 按边权重随机游走的无界面引擎.
+ * 构造时为每个顶点的出边建立别名表（Vose 方法），之后每一步只需 O(1) 时间按权重比例选出一条出边.
+ * 别名表构造后不再修改，可被多个线程共享；已走过的边由 Walker 按边编号记录在位集中，
+ * 每个线程使用自己的 Walker，重置时只清除本次游走用到的位，开销与游走长度成正比.
+ */
+public final class RandomWalkEngine {
+  private final int vertexCount; // 顶点数
+  private final int edgeCount; // 边数,即边编号的范围
+  private final int[] offsets; // 每个顶点出边在槽数组中的起始位置,长度 V+1
+  private final int[] edges; // 槽对应的边编号
+  private final int[] targets; // 槽对应的终点
+  private final double[] probability; // 别名表中保留本槽的概率
+  private final int[] alias; // 别名表中的替代槽,相对于顶点起始位置
+
+  /**
+   * 构造函数
+   * 遍历所有出边建立别名表，耗时与边数成正比.
+   *
+   * @param graph 邻接存储,构造后的修改不会反映到引擎中.
+   */
+  public RandomWalkEngine(GraphStorage graph) {
+    vertexCount = graph.vertexCount();
+    edgeCount = graph.edgeCount();
+    offsets = new int[vertexCount + 1];
+    for (int v = 0; v < vertexCount; v++) {
+      offsets[v + 1] = offsets[v] + graph.outDegree(v);
+    }
+    int slots = offsets[vertexCount];
+    edges = new int[slots];
+    targets = new int[slots];
+    probability = new double[slots];
+    alias = new int[slots];
+    int[] small = new int[0];
+    int[] large = new int[0];
+    for (int v = 0; v < vertexCount; v++) {
+      int degree = graph.outDegree(v);
+      long total = 0;
+      for (int k = 0; k < degree; k++) {
+        int e = graph.outEdge(v, k);
+        edges[offsets[v] + k] = e;
+        targets[offsets[v] + k] = graph.target(e);
+        total += graph.weight(e);
+      }
+      if (small.length < degree) {
+        small = new int[degree];
+        large = new int[degree];
+      }
+      build(graph, v, degree, total, small, large);
+    }
+  }
+
+  /**
+   * 为一个顶点建立别名表.
+   * 权重按平均值缩放为 1，小于 1 的槽用大于 1 的槽补齐.
+   */
+  private void build(GraphStorage graph, int v, int degree, long total,
+                     int[] small, int[] large) {
+    int base = offsets[v];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int k = 0; k < degree; k++) {
+      probability[base + k] = (double) graph.weight(edges[base + k]) * degree / total;
+      alias[base + k] = k;
+      if (probability[base + k] < 1.0) {
+        small[smallCount++] = k;
+      } else {
+        large[largeCount++] = k;
+      }
+    }
+    while (smallCount > 0 && largeCount > 0) {
+      int s = small[--smallCount];
+      int l = large[--largeCount];
+      alias[base + s] = l;
+      probability[base + l] -= 1.0 - probability[base + s];
+      if (probability[base + l] < 1.0) {
+        small[smallCount++] = l;
+      } else {
+        large[largeCount++] = l;
+      }
+    }
+    while (largeCount > 0) {
+      probability[base + large[--largeCount]] = 1.0;
+    }
+    while (smallCount > 0) {
+      probability[base + small[--smallCount]] = 1.0; // 浮点误差
+    }
+  }
+
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * 按权重比例随机选择一条出边.
+   *
+   * @param v      顶点编号.
+   * @param random 随机数生成器.
+   * @return 出边在别名表中的槽位置,没有出边时返回 -1.
+   */
+  private int nextSlot(int v, RandomGenerator random) {
+    int degree = offsets[v + 1] - offsets[v];
+    if (degree == 0) {
+      return -1;
+    }
+    if (degree == 1) {
+      return offsets[v];
+    }
+    int k = random.nextInt(degree);
+    int slot = offsets[v] + k;
+    return random.nextDouble() < probability[slot] ? slot : offsets[v] + alias[slot];
+  }
+
+  /**
+   * 按权重比例随机选择一条出边.
+   *
+   * @param v      顶点编号.
+   * @param random 随机数生成器.
+   * @return 边编号,没有出边时返回 -1.
+   */
+  public int nextEdge(int v, RandomGenerator random) {
+    int slot = nextSlot(v, random);
+    return slot == -1 ? -1 : edges[slot];
+  }
+
+  /**
+   * 创建一个游走器.
+   *
+   * @return 新的游走器,只能在一个线程中使用.
+   */
+  public Walker walker() {
+    return new Walker();
+  }
+
+  /**
+   * 从给定顶点开始随机游走.
+   *
+   * @param start  起点编号.
+   * @param random 随机数生成器.
+   * @return 依次经过的顶点编号.
+   */
+  public int[] walk(int start, RandomGenerator random) {
+    Walker walker = walker();
+    walker.walk(start, random, Integer.MAX_VALUE);
+    return walker.path();
+  }
+
+  /**
+   * Walker 类
+   * 一次次执行随机游走并记录经过的顶点，可重复使用.
+   * 游走在走到第一条重复的边（包括该边的终点）或进入没有出边的顶点时结束.
+   * 非线程安全.
+   */
+  public final class Walker {
+    private final long[] visited; // 已走过的边,按边编号的位集
+    private int[] touched; // 本次游走置位过的位集下标
+    private int touchedCount;
+    private int[] path; // 经过的顶点
+    private int length; // 经过的顶点数
+    private boolean finished; // 本次游走是否已结束
+
+    private Walker() {
+      visited = new long[(edgeCount + 63) >>> 6];
+      touched = new int[16];
+      path = new int[16];
+    }
+
+    /**
+     * 从给定顶点开始新的游走,清除上一次游走的记录.
+     *
+     * @param start 起点编号.
+     */
+    public void start(int start) {
+      for (int i = 0; i < touchedCount; i++) {
+        visited[touched[i]] = 0;
+      }
+      touchedCount = 0;
+      length = 0;
+      finished = false;
+      append(start);
+    }
+
+    /**
+     * 走一步.
+     *
+     * @param random 随机数生成器.
+     * @return 是否可以继续走下一步.
+     */
+    public boolean step(RandomGenerator random) {
+      if (finished) {
+        return false;
+      }
+      int slot = nextSlot(path[length - 1], random);
+      if (slot == -1) {
+        finished = true; // 没有出边
+        return false;
+      }
+      append(targets[slot]);
+      int e = edges[slot];
+      int word = e >>> 6;
+      long bit = 1L << e;
+      if ((visited[word] & bit) != 0) {
+        finished = true; // 第一条重复的边
+        return false;
+      }
+      if (visited[word] == 0) {
+        if (touchedCount == touched.length) {
+          touched = Arrays.copyOf(touched, touchedCount * 2);
+        }
+        touched[touchedCount++] = word;
+      }
+      visited[word] |= bit;
+      return true;
+    }
+
+    /**
+     * 执行一次完整的游走.
+     *
+     * @param start     起点编号.
+     * @param random    随机数生成器.
+     * @param maxLength 最多经过的顶点数.
+     * @return 经过的顶点数.
+     */
+    public int walk(int start, RandomGenerator random, int maxLength) {
+      start(start);
+      boolean more = true;
+      while (more && length < maxLength) { // 每步最多增加一个顶点,不会超过 maxLength
+        more = step(random);
+      }
+      return length;
+    }
+
+    private void append(int v) {
+      if (length == path.length) {
+        path = Arrays.copyOf(path, length * 2);
+      }
+      path[length++] = v;
+    }
+
+    /**
+     * 当前所在的顶点.
+     *
+     * @return 顶点编号.
+     */
+    public int current() {
+      return path[length - 1];
+    }
+
+    public int length() {
+      return length;
+    }
+
+    /**
+     * 本次游走经过的第 i 个顶点.
+     *
+     * @param i 下标,0 为起点.
+     * @return 顶点编号.
+     */
+    public int vertex(int i) {
+      return path[i];
+    }
+
+    /**
+     * 本次游走经过的顶点.
+     *
+     * @return 顶点编号的副本.
+     */
+    public int[] path() {
+      return Arrays.copyOf(path, length);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * ResultCache 类
+ * 以（源点, 终点）顶点编号为键的有界并发查询结果缓存.
+ * 键按哈希分到若干段，每段是按访问顺序排列的 LinkedHashMap，由各自的锁保护；
+ * 每段的总权重超过上限时淘汰最久未访问的结果（LRU）.
+ * 结果在锁外计算，同一键被并发查询时可能重复计算，但不会阻塞其他键.
+ * invalidate() 使所有结果失效；失效前开始、失效后才完成的计算不会写入缓存.
+ *
+ * @param <V> 结果类型,必须是不可变的.
+ */
+public final class ResultCache<V> {
+  private static final int SEGMENTS = 16; // 段数,必须是 2 的幂
+  private final Segment<V>[] segments;
+  private final ToIntFunction<? super V> weigher; // 结果的权重
+  private final long maxWeight; // 总权重上限
+  private final AtomicLong generation; // 失效次数
+  private final LongAdder hits; // 命中次数
+  private final LongAdder misses; // 未命中次数
+  private final LongAdder evictions; // 淘汰次数
+
+  /**
+   * 构造函数.
+   *
+   * @param maxWeight 总权重上限,为 0 时不缓存.
+   * @param weigher   计算结果的权重,例如占用的整数个数.
+   */
+  @SuppressWarnings("unchecked")
+  public ResultCache(long maxWeight, ToIntFunction<? super V> weigher) {
+    this.maxWeight = Math.max(maxWeight, 0);
+    this.weigher = weigher;
+    segments = new Segment[SEGMENTS];
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment<>(this.maxWeight / SEGMENTS);
+    }
+    generation = new AtomicLong();
+    hits = new LongAdder();
+    misses = new LongAdder();
+    evictions = new LongAdder();
+  }
+
+  /**
+   * 计算结果的函数.
+   *
+   * @param <V> 结果类型.
+   */
+  @FunctionalInterface
+  public interface Loader<V> {
+    /**
+     * 计算结果.
+     *
+     * @param source 源点编号.
+     * @param target 终点编号.
+     * @return 结果.
+     */
+    V load(int source, int target);
+  }
+
+  /**
+   * 获取结果,不在缓存中时计算并加入缓存.
+   *
+   * @param source 源点编号.
+   * @param target 终点编号.
+   * @param loader 计算结果的函数.
+   * @return 结果.
+   */
+  public V get(int source, int target, Loader<? extends V> loader) {
+    long key = ((long) source << 32) | (target & 0xffffffffL);
+    Segment<V> segment = segments[segmentOf(key)];
+    V value;
+    long start;
+    synchronized (segment) {
+      value = segment.map.get(key);
+      start = generation.get();
+    }
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+    misses.increment();
+    value = loader.load(source, target);
+    int weight = Math.max(weigher.applyAsInt(value), 1);
+    synchronized (segment) {
+      if (generation.get() == start && weight <= segment.maxWeight) {
+        V old = segment.map.put(key, value);
+        segment.weight += weight;
+        if (old != null) {
+          segment.weight -= Math.max(weigher.applyAsInt(old), 1);
+        }
+        evict(segment);
+      }
+    }
+    return value;
+  }
+
+  private void evict(Segment<V> segment) {
+    Iterator<V> eldest = segment.map.values().iterator();
+    while (segment.weight > segment.maxWeight && eldest.hasNext()) {
+      segment.weight -= Math.max(weigher.applyAsInt(eldest.next()), 1);
+      eldest.remove();
+      evictions.increment();
+    }
+  }
+
+  private static int segmentOf(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h >>> 60) & (SEGMENTS - 1);
+  }
+
+  /**
+   * 使所有结果失效,在图改变后调用.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        segment.map.clear();
+        segment.weight = 0;
+      }
+    }
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * 命中率.
+   *
+   * @return 命中次数占查询次数的比例,没有查询时为 0.
+   */
+  public double hitRate() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * 缓存的结果数.
+   *
+   * @return 结果数.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        size += segment.map.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * 缓存结果的总权重.
+   *
+   * @return 总权重,不超过构造时给定的上限.
+   */
+  public long weight() {
+    long weight = 0;
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        weight += segment.weight;
+      }
+    }
+    return weight;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d entries, weight %d/%d, hits %d, misses %d, hit rate %.1f%%, "
+                    + "evictions %d", size(), weight(), maxWeight, hits(), misses(),
+            hitRate() * 100, evictions());
+  }
+
+  /**
+   * 一段缓存.
+   */
+  private static final class Segment<V> {
+    private final LinkedHashMap<Long, V> map; // 按访问顺序排列,最久未访问的在前
+    private final long maxWeight; // 本段的权重上限
+    private long weight; // 本段的总权重
+
+    private Segment(long maxWeight) {
+      this.map = new LinkedHashMap<>(16, 0.75f, true);
+      this.maxWeight = maxWeight;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * ResultWriter 接口
+ * 把查询结果写到输出流，实现决定格式，例如 TextResultWriter 和 JsonLinesResultWriter.
+ * 实现应缓冲输出，批量写出大量结果时只在 flush 或 close 时访问底层流.
+ * 非线程安全.
+ */
+public interface ResultWriter extends Closeable, Flushable {
+  /**
+   * 写出一个结果.
+   *
+   * @param result 结果.
+   * @throws IOException 写入异常.
+   */
+  void write(QueryResult result) throws IOException;
+}
@@ -0,0 +1,258 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * ShortestPathTree 类
+ * 单源最短路径树.
+ * 一次 Dijkstra 计算出源点到所有顶点的距离和前驱，之后可回答任意终点的查询.
+ * 计算完成后不再修改，可在多个线程间共享.
+ */
+public final class ShortestPathTree {
+  /** 不可达顶点的距离. */
+  public static final int UNREACHABLE = Integer.MAX_VALUE;
+  private final GraphStorage graph; // 邻接存储
+  private final int source; // 源点编号
+  private final int[] dist; // 源点到各顶点的距离
+  private final int[] parent; // 最短路径上的前驱,-1 表示无前驱
+
+  private ShortestPathTree(GraphStorage graph, int source, int[] dist, int[] parent) {
+    this.graph = graph;
+    this.source = source;
+    this.dist = dist;
+    this.parent = parent;
+  }
+
+  /**
+   * 使用二叉堆优化的 Dijkstra 算法计算单源最短路径树.
+   * 边的权重即为边的长度，时间复杂度 O(E log V).
+   *
+   * @param graph  邻接存储.
+   * @param source 源点编号.
+   * @return 最短路径树.
+   */
+  public static ShortestPathTree compute(GraphStorage graph, int source) {
+    int n = graph.vertexCount();
+    int[] dist = new int[n];
+    int[] parent = new int[n];
+    Arrays.fill(dist, UNREACHABLE);
+    Arrays.fill(parent, -1);
+    boolean[] settled = new boolean[n];
+    IntMinHeap heap = new IntMinHeap(n);
+    dist[source] = 0;
+    heap.push(source, 0);
+    while (!heap.isEmpty()) {
+      int u = heap.pop();
+      settled[u] = true;
+      for (int k = 0; k < graph.outDegree(u); k++) {
+        int e = graph.outEdge(u, k);
+        int v = graph.target(e);
+        int d = dist[u] + graph.weight(e);
+        if (!settled[v] && d < dist[v]) {
+          dist[v] = d;
+          parent[v] = u;
+          heap.push(v, d);
+        }
+      }
+    }
+    return new ShortestPathTree(graph, source, dist, parent);
+  }
+
+  /**
+   * 源点编号.
+   *
+   * @return 源点编号.
+   */
+  public int source() {
+    return source;
+  }
+
+  /**
+   * 终点是否可达.
+   *
+   * @param target 终点编号.
+   * @return 是否可达.
+   */
+  public boolean isReachable(int target) {
+    return dist[target] != UNREACHABLE;
+  }
+
+  /**
+   * 源点到终点的最短距离.
+   *
+   * @param target 终点编号.
+   * @return 距离,不可达时返回 UNREACHABLE.
+   */
+  public int distance(int target) {
+    return dist[target];
+  }
+
+  /**
+   * 终点在最短路径上的前驱.
+   *
+   * @param target 终点编号.
+   * @return 前驱编号,源点或不可达时返回 -1.
+   */
+  public int parent(int target) {
+    return parent[target];
+  }
+
+  /**
+   * 源点到终点的最短路径.
+   *
+   * @param target 终点编号.
+   * @return 从源点到终点的顶点编号序列,不可达时返回 null.
+   */
+  public int[] pathTo(int target) {
+    if (!isReachable(target)) {
+      return null;
+    }
+    int length = 1;
+    for (int v = target; v != source; v = parent[v]) {
+      length++;
+    }
+    int[] path = new int[length];
+    for (int v = target, i = length - 1; i >= 0; v = parent[v], i--) {
+      path[i] = v;
+    }
+    return path;
+  }
+
+  /**
+   * 源点到终点的查询结果.
+   *
+   * @param target 终点编号.
+   * @return 查询结果.
+   */
+  public PathResult result(int target) {
+    return new PathResult(this, target);
+  }
+
+  /**
+   * 源点到终点的所有等长最短路径.
+   * 沿入边回溯满足 dist[u] + w(u, v) == dist[v] 的边，耗时与输出的路径长度成正比.
+   *
+   * @param target 终点编号.
+   * @param limit  最多返回的路径条数.
+   * @return 顶点编号序列的列表,不可达时为空列表.
+   */
+  public List<int[]> allPathsTo(int target, int limit) {
+    List<int[]> paths = new ArrayList<>();
+    if (!isReachable(target) || limit <= 0) {
+      return paths;
+    }
+    int[] stack = new int[16]; // 从终点回溯的顶点
+    int[] next = new int[16]; // 每层下一条待检查的入边序号
+    int depth = 0;
+    stack[0] = target;
+    next[0] = 0;
+    while (depth >= 0 && paths.size() < limit) {
+      int v = stack[depth];
+      if (v == source) {
+        int[] path = new int[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+          path[i] = stack[depth - i];
+        }
+        paths.add(path);
+        depth--;
+        continue;
+      }
+      int u = -1;
+      while (u == -1 && next[depth] < graph.inDegree(v)) {
+        int e = graph.inEdge(v, next[depth]++);
+        int w = graph.source(e);
+        if (dist[w] != UNREACHABLE && dist[w] + graph.weight(e) == dist[v]) {
+          u = w; // 最短路径上的前驱
+        }
+      }
+      if (u == -1) {
+        depth--;
+        continue;
+      }
+      depth++;
+      if (depth == stack.length) {
+        stack = Arrays.copyOf(stack, depth * 2);
+        next = Arrays.copyOf(next, depth * 2);
+      }
+      stack[depth] = u;
+      next[depth] = 0;
+    }
+    return paths;
+  }
+
+  /**
+   * 距离源点最近的 k 个顶点,不包括源点本身和不可达的顶点.
+   *
+   * @param k 顶点数.
+   * @return 按距离升序排列的顶点编号,距离相同时编号小的在前.
+   */
+  public int[] nearest(int k) {
+    return nearest(this::distance, dist.length, source, k);
+  }
+
+  /**
+   * 距离最近的 k 个顶点,不包括源点本身和不可达的顶点.
+   * 使用大小为 k 的最大堆,耗时 O(V log k).
+   *
+   * @param distance    源点到各顶点的距离.
+   * @param vertexCount 顶点数.
+   * @param source      源点编号.
+   * @param k           最多返回的顶点数.
+   * @return 按距离升序排列的顶点编号,距离相同时编号小的在前.
+   */
+  static int[] nearest(IntUnaryOperator distance, int vertexCount, int source, int k) {
+    if (k <= 0) {
+      return new int[0];
+    }
+    long[] heap = new long[Math.min(k, vertexCount)]; // (距离 << 32) | 编号,堆顶是当前最远的顶点
+    int size = 0;
+    for (int target = 0; target < vertexCount; target++) {
+      int d = distance.applyAsInt(target);
+      if (target == source || d == UNREACHABLE) {
+        continue;
+      }
+      long key = ((long) d << 32) | target;
+      if (size < heap.length) {
+        heap[size] = key;
+        siftUp(heap, size++);
+      } else if (key < heap[0]) {
+        heap[0] = key;
+        siftDown(heap, size);
+      }
+    }
+    long[] keys = Arrays.copyOf(heap, size);
+    Arrays.sort(keys);
+    int[] nearest = new int[size];
+    for (int i = 0; i < size; i++) {
+      nearest[i] = (int) keys[i];
+    }
+    return nearest;
+  }
+
+  private static void siftUp(long[] heap, int i) {
+    long key = heap[i];
+    while (i > 0 && heap[(i - 1) >>> 1] < key) {
+      heap[i] = heap[(i - 1) >>> 1];
+      i = (i - 1) >>> 1;
+    }
+    heap[i] = key;
+  }
+
+  private static void siftDown(long[] heap, int size) {
+    long key = heap[0];
+    int i = 0;
+    while (2 * i + 1 < size) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && heap[child + 1] > heap[child]) {
+        child++;
+      }
+      if (heap[child] <= key) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = key;
+  }
+}
@@ -0,0 +1,190 @@
+import java.util.Arrays;
+
+/**
+ * SparseGraph 类
+ * 可增量构建的稀疏邻接存储.
+ * 边按加入顺序编号，保存在起点、终点、权重三个数组中；
+ * 每个顶点维护出边和入边编号列表，(起点, 终点) 到边编号的映射用开放寻址的 long 键哈希表.
+ */
+public class SparseGraph implements GraphStorage {
+  private static final long EMPTY = -1L; // 哈希表空槽
+  private int vertexCount; // 顶点数
+  private int edgeCount; // 边数
+  private int[] sources; // 边的起点
+  private int[] targets; // 边的终点
+  private int[] weights; // 边的权重
+  private int[][] outEdges; // 每个顶点的出边编号
+  private int[] outDegrees; // 每个顶点的出度
+  private int[][] inEdges; // 每个顶点的入边编号
+  private int[] inDegrees; // 每个顶点的入度
+  private long[] keys; // 哈希表键,(起点 << 32) | 终点
+  private int[] slots; // 哈希表值,边编号
+
+  /**
+   * 构造函数.
+   *
+   * @param vertexCount 初始顶点数.
+   */
+  public SparseGraph(int vertexCount) {
+    this.vertexCount = 0;
+    edgeCount = 0;
+    sources = new int[16];
+    targets = new int[16];
+    weights = new int[16];
+    outEdges = new int[0][];
+    outDegrees = new int[0];
+    inEdges = new int[0][];
+    inDegrees = new int[0];
+    keys = new long[32];
+    Arrays.fill(keys, EMPTY);
+    slots = new int[32];
+    ensureVertexCount(vertexCount);
+  }
+
+  /**
+   * 保证顶点数至少为 n,新顶点没有边.
+   *
+   * @param n 顶点数.
+   */
+  public void ensureVertexCount(int n) {
+    if (n <= vertexCount) {
+      return;
+    }
+    if (n > outDegrees.length) {
+      int capacity = Math.max(n, outDegrees.length * 2);
+      outEdges = Arrays.copyOf(outEdges, capacity);
+      outDegrees = Arrays.copyOf(outDegrees, capacity);
+      inEdges = Arrays.copyOf(inEdges, capacity);
+      inDegrees = Arrays.copyOf(inDegrees, capacity);
+    }
+    vertexCount = n;
+  }
+
+  /**
+   * 增加边的权重,边不存在时新建.
+   *
+   * @param u 起点编号.
+   * @param v 终点编号.
+   * @param w 增加的权重.
+   * @return 边编号.
+   */
+  public int addEdge(int u, int v, int w) {
+    ensureVertexCount(Math.max(u, v) + 1);
+    long key = key(u, v);
+    int i = indexOf(key);
+    if (keys[i] == key) {
+      weights[slots[i]] += w;
+      return slots[i];
+    }
+    int e = edgeCount++;
+    if (e == sources.length) {
+      sources = Arrays.copyOf(sources, e * 2);
+      targets = Arrays.copyOf(targets, e * 2);
+      weights = Arrays.copyOf(weights, e * 2);
+    }
+    sources[e] = u;
+    targets[e] = v;
+    weights[e] = w;
+    keys[i] = key;
+    slots[i] = e;
+    outEdges[u] = append(outEdges[u], outDegrees[u]++, e);
+    inEdges[v] = append(inEdges[v], inDegrees[v]++, e);
+    if (edgeCount * 2 > keys.length) {
+      rehash(keys.length * 2);
+    }
+    return e;
+  }
+
+  @Override
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  @Override
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public int outDegree(int v) {
+    return outDegrees[v];
+  }
+
+  @Override
+  public int outEdge(int v, int i) {
+    return outEdges[v][i];
+  }
+
+  @Override
+  public int inDegree(int v) {
+    return inDegrees[v];
+  }
+
+  @Override
+  public int inEdge(int v, int i) {
+    return inEdges[v][i];
+  }
+
+  @Override
+  public int source(int e) {
+    return sources[e];
+  }
+
+  @Override
+  public int target(int e) {
+    return targets[e];
+  }
+
+  @Override
+  public int weight(int e) {
+    return weights[e];
+  }
+
+  @Override
+  public int findEdge(int u, int v) {
+    if (u < 0 || v < 0) {
+      return -1;
+    }
+    long key = key(u, v);
+    int i = indexOf(key);
+    return keys[i] == key ? slots[i] : -1;
+  }
+
+  private static int[] append(int[] list, int size, int e) {
+    if (list == null) {
+      list = new int[2];
+    } else if (size == list.length) {
+      list = Arrays.copyOf(list, size * 2);
+    }
+    list[size] = e;
+    return list;
+  }
+
+  private static long key(int u, int v) {
+    return ((long) u << 32) | (v & 0xffffffffL);
+  }
+
+  /**
+   * 线性探测查找键所在槽位,键不存在时返回应插入的空槽.
+   */
+  private int indexOf(long key) {
+    int mask = keys.length - 1;
+    long h = key * 0x9E3779B97F4A7C15L;
+    int i = (int) (h ^ (h >>> 32)) & mask;
+    while (keys[i] != EMPTY && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private void rehash(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    slots = new int[capacity];
+    for (int e = 0; e < edgeCount; e++) {
+      int i = indexOf(key(sources[e], targets[e]));
+      keys[i] = key(sources[e], targets[e]);
+      slots[i] = e;
+    }
+  }
+}
@@ -1,18 +1,30 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.SecureRandom;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import javax.management.JMException;
 import org.apache.commons.io.FilenameUtils;
-import org.graphstream.graph.Edge;
-import org.graphstream.graph.Graph;
-import org.graphstream.graph.Node;
-import org.graphstream.graph.implementations.SingleGraph;
 
 
 /**
@@ -25,28 +37,132 @@ import org.graphstream.graph.implementations.SingleGraph;
  * 4. 生成新文本
  * 5. 计算最短路径
  * 6. 随机游走
+ * TextGraph 本身不是线程安全的，多线程共享时使用 freeze() 得到的不可变快照.
  */
 public class TextGraph {
-  private final SecureRandom random;
-  private String text; // 处理后文本
-  private final Set<String> vertices; // 顶点集合
+  private static final int MAX_SHOWN_PATHS = 16; // 最多突出显示的等长最短路径条数
+  private static final int MAX_SHOWN_EDGES = 2000; // 窗口中最多显示的边数,超出时只显示权重最大的边
+  private static final long CACHE_WEIGHT = 1 << 20; // 每个结果缓存的权重上限,权重约为结果中的整数个数
+  private static final int TOP_K = 8; // 前 K 个后继和前驱索引的默认列表长度
+  private static final long IN_MEMORY_ALL_PAIRS = 64L << 20; // 所有单词对距离保存在堆内的最大字节数
+  private static PrintStream consoleStream; // console 写入的标准输出
+  private static ResultWriter console; // 交互界面结果的缓冲输出,进程内共用
+  private final Supplier<? extends RandomGenerator> random; // 随机数来源,每次使用时获取当前线程的生成器
+  private Vocabulary vertices; // 顶点词表,单词与顶点编号一一对应
   // 有向图
   private int vertexCount; // 顶点数
   private int edgeCount; // 边数
-  private int[][] adj; // 邻接矩阵
-  private int picNum; // 图片编号
+  private SparseGraph adj; // 稀疏邻接存储
+  private int lastVertex; // 已读入文本最后一个单词的顶点编号,追加文本时与之相连
+  private final AtomicInteger picNum; // 图片编号,可被多个线程安全地递增
+  private boolean bridgeIndexEnabled; // 是否建立桥接词索引
+  private BridgeIndex bridgeIndex; // 桥接词索引,未建立时为 null
+  private SparseGraph contexts; // 上下文转移图,顶点为单词对 (边),边权重为三元组次数;未开启时为 null
+  private int lastEdge; // 已读入文本最后一个单词对的边编号,-1 表示没有
+  private TopKIndex topK; // 前 K 个后继和前驱,图改变后置为 null 并在下次查询时重建
+  private GraphSnapshot view; // 当前图上的查询视图
+  private RandomWalkEngine walkEngine; // 随机游走的别名表,图改变后置为 null 并在下次游走时重建
+  private GraphSnapshot frozen; // 当前图的不可变快照,图改变后置为 null 并在需要时重建
+  private GraphRenderer renderer; // 离屏渲染器及其缓存的布局,图改变后关闭并在下次绘制时重建
+  private VisualizationSession session; // 图形界面会话,图改变后关闭并在下次显示时重建
+  private AllPairsDistances allPairs; // 所有单词对之间的距离,图改变后置为 null 并在需要时重新计算
+  private PointToPointSearch.Mode searchMode; // 两点最短路径的搜索方式
+  private int landmarkCount; // ALT 搜索的地标个数,为 0 时不计算地标
+  private Landmarks landmarks; // 地标距离,图改变后置为 null 并在下次 ALT 查询时重建
+  private ThreadLocal<PointToPointSearch> searches; // 每个线程各自的搜索状态,图改变后重建
+  private final ResultCache<PathResult> pathCache; // 最短路径结果缓存
+  private final ResultCache<int[]> bridgeCache; // 桥接词结果缓存
+  private final GraphMetrics metrics; // 运行时指标
+  private long version; // 图的版本号,每次改变时加一
 
   /**
    * 构造函数
    * 初始化顶点集合、顶点数、边数、图片编号.
+   * 使用每个线程各自的 ThreadLocalRandom.
    */
   public TextGraph() {
-    random = new SecureRandom();
-    vertices = new HashSet<>();
-    adj = null;
+    this(ThreadLocalRandom::current);
+  }
+
+  /**
+   * 构造函数
+   * 使用给定的随机数来源，用于选择桥接词和随机游走.
+   *
+   * @param random 随机数来源,在使用随机数的线程中调用,例如 seededRandom(42).
+   */
+  public TextGraph(Supplier<? extends RandomGenerator> random) {
+    this.random = random;
+    picNum = new AtomicInteger();
+    bridgeIndexEnabled = true;
+    searchMode = PointToPointSearch.Mode.DIJKSTRA;
+    pathCache = new ResultCache<>(CACHE_WEIGHT, result -> result.length() + 4);
+    bridgeCache = new ResultCache<>(CACHE_WEIGHT, bridges -> bridges.length + 4);
+    metrics = new GraphMetrics();
+    clear();
+  }
+
+  /**
+   * 清空图
+   * 重新初始化顶点词表、邻接存储、顶点数、边数.
+   */
+  private void clear() {
+    vertices = new Vocabulary();
+    adj = new SparseGraph(0);
     vertexCount = 0;
     edgeCount = 0;
-    picNum = 0;
+    lastVertex = -1;
+    contexts = contexts != null ? new SparseGraph(0) : null;
+    lastEdge = -1;
+    bridgeIndex = bridgeIndexEnabled ? new BridgeIndex(adj) : null;
+    view = new GraphSnapshot(vertices, adj, bridgeIndex);
+    graphChanged();
+  }
+
+  /**
+   * 图改变后丢弃依赖旧图的缓存.
+   */
+  private void graphChanged() {
+    version++;
+    pathCache.invalidate();
+    bridgeCache.invalidate();
+    walkEngine = null;
+    frozen = null;
+    allPairs = null;
+    topK = null;
+    landmarks = null;
+    searches = searches(adj, null);
+    metrics.graphSize(vertexCount, adj.edgeCount(), edgeCount);
+    if (renderer != null) {
+      renderer.close(); // 已提交的绘制仍使用旧图的快照完成
+      renderer = null;
+    }
+    if (session != null) {
+      session.close();
+      session = null;
+    }
+  }
+
+  private static ThreadLocal<PointToPointSearch> searches(GraphStorage graph,
+                                                          Landmarks landmarks) {
+    return ThreadLocal.withInitial(() -> new PointToPointSearch(graph, landmarks));
+  }
+
+  /**
+   * 可重现的随机数来源.
+   * 每个线程首次使用时，按使用顺序从以 seed 为种子的 SplittableRandom 拆分出自己的生成器，
+   * 单线程使用时结果完全确定.
+   *
+   * @param seed 随机数种子.
+   * @return 随机数来源.
+   */
+  public static Supplier<RandomGenerator> seededRandom(long seed) {
+    SplittableRandom root = new SplittableRandom(seed);
+    ThreadLocal<RandomGenerator> generators = ThreadLocal.withInitial(() -> {
+      synchronized (root) {
+        return root.split();
+      }
+    });
+    return generators::get;
   }
 
   /**
@@ -54,11 +170,44 @@ public class TextGraph {
    * 用于测试 TextGraph 类.
    *
    * @param args 命令行参数,根据提示信息输入.
+   *             使用 --batch 文件名或目录 查询文件 [结果文件] [线程数] 时以批量模式运行,
+   *             使用 --save 文件名或目录 图文件 时把图保存为二进制文件（扩展名 .tgb）,
+   *             使用 --walks 文件名、目录或图文件 结果文件 每个顶点的游走数 [最大长度] [种子] [线程数]
+   *             时批量生成随机游走,
+   *             使用 --export 文件名、目录或图文件 导出文件 [最多边数] 时把图导出为 DOT 或 GraphML 文件.
    * @throws IOException 文件读写异常.
    */
   public static void main(String[] args) throws IOException {
+    if (args.length >= 3 && args[0].equals("--batch")) {
+      runBatch(args);
+      return;
+    }
+    if (args.length >= 4 && args[0].equals("--walks")) {
+      runWalks(args);
+      return;
+    }
+    if (args.length >= 3 && args[0].equals("--export")) {
+      GraphSnapshot snapshot = loadSnapshot(args[1]);
+      int maxEdges = args.length > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+      GraphExporter.export(snapshot, EdgeSelection.limit(snapshot.storage(), null, maxEdges), null,
+              Paths.get(args[2])); // 导出为 DOT 或 GraphML 文件
+      return;
+    }
+    if (args.length >= 3 && args[0].equals("--all-pairs")) {
+      runAllPairs(args);
+      return;
+    }
+    if (args.length >= 3 && args[0].equals("--save")) {
+      GraphFile.save(loadSnapshot(args[1]), Paths.get(args[2])); // 保存为二进制图文件
+      return;
+    }
     System.out.println("Hello and welcome!");
     TextGraph textGraph = new TextGraph();
+    try {
+      textGraph.metrics().registerMBean("main"); // 可在 JConsole 中查看
+    } catch (JMException e) {
+      e.printStackTrace();
+    }
     textGraph.inputGraph("src/main/java/input.txt");
     //    textGraph.inputGraph(args[0]);
     textGraph.showDirectedGraph(null);
@@ -89,7 +238,7 @@ public class TextGraph {
           String word3 = scanner.next();
           System.out.println("Please input the word2:");
           String word4 = scanner.next();
-          textGraph.calcShortestPath(word3, word4);
+          textGraph.calcShortestPath(word3, word4, true);
           break;
         case "4":
           String randomWalk = textGraph.randomWalk();
@@ -104,8 +253,98 @@ public class TextGraph {
     }
   }
 
+  /**
+   * 批量模式
+   * 读取图后并行执行查询文件中的所有查询，结果按查询顺序写出，统计信息输出到标准错误.
+   * 结果文件以 .jsonl 结尾时以 JSON Lines 格式写出.
+   *
+   * @param args --batch 文件名、目录或图文件 查询文件 [结果文件] [线程数].
+   * @throws IOException 文件读写异常.
+   */
+  private static void runBatch(String[] args) throws IOException {
+    int threads = args.length > 4 ? Integer.parseInt(args[4])
+            : Runtime.getRuntime().availableProcessors();
+    BatchQueryEngine engine = new BatchQueryEngine(loadSnapshot(args[1]), threads);
+    try (BufferedReader in = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.UTF_8);
+         Writer out = args.length > 3
+                 ? Files.newBufferedWriter(Paths.get(args[3]), StandardCharsets.UTF_8)
+                 : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+      BatchQueryEngine.Report report = args.length > 3 && args[3].endsWith(".jsonl")
+              ? engine.run(in, new JsonLinesResultWriter(out)) // 每条查询一行 JSON
+              : engine.run(in, out);
+      System.err.println(report);
+    }
+  }
+
+  /**
+   * 批量随机游走模式
+   * 读取图后并行生成随机游走写入结果文件，统计信息输出到标准错误.
+   *
+   * @param args --walks 文件名、目录或图文件 结果文件 每个顶点的游走数 [最大长度] [种子] [线程数].
+   * @throws IOException 文件读写异常.
+   */
+  private static void runWalks(String[] args) throws IOException {
+    int walksPerVertex = Integer.parseInt(args[3]);
+    int maxLength = args.length > 4 ? Integer.parseInt(args[4]) : Integer.MAX_VALUE;
+    long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+    int threads = args.length > 6 ? Integer.parseInt(args[6])
+            : Runtime.getRuntime().availableProcessors();
+    BulkWalkGenerator generator = new BulkWalkGenerator(loadSnapshot(args[1]), threads);
+    long start = System.nanoTime();
+    try (Writer out = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+      long walks = generator.walksPerVertex(walksPerVertex, maxLength, seed, out);
+      System.err.printf("%d walks in %.3f s, seed %d%n", walks,
+              (System.nanoTime() - start) / 1e9, seed);
+    }
+  }
+
+  /**
+   * 全源最短路径模式
+   * 读取图后并行计算所有单词对之间的距离并写入距离文件，之后可用 AllPairsDistances.open 读取.
+   *
+   * @param args --all-pairs 文件名、目录或图文件 距离文件 [线程数].
+   * @throws IOException 文件读写异常.
+   */
+  private static void runAllPairs(String[] args) throws IOException {
+    int threads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+    GraphSnapshot snapshot = loadSnapshot(args[1]);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    long start = System.nanoTime();
+    try {
+      AllPairsDistances.compute(snapshot.storage(), pool, Paths.get(args[2]));
+    } finally {
+      pool.shutdown();
+    }
+    System.err.printf("%d sources in %.3f s%n", snapshot.vertexCount(),
+            (System.nanoTime() - start) / 1e9);
+  }
+
+  /**
+   * 读取图并冻结为快照.
+   *
+   * @param corpus 文本文件、文本目录或 .tgb 二进制图文件.
+   * @return 图快照.
+   * @throws IOException 文件读写异常.
+   */
+  private static GraphSnapshot loadSnapshot(String corpus) throws IOException {
+    Path path = Paths.get(corpus);
+    if (corpus.endsWith(".tgb")) {
+      return GraphFile.load(path); // 内存映射,无需重新分词
+    }
+    TextGraph textGraph = new TextGraph();
+    if (Files.isDirectory(path)) {
+      textGraph.inputCorpus(ParallelCorpusLoader.listFiles(path)); // 并行读取目录下所有文件
+    } else {
+      textGraph.inputGraph(corpus);
+    }
+    return textGraph.freeze();
+  }
+
   /**
    * 从文件中读取图.
+   * 丢弃已有的图，从头构建.
+   * 以流的方式逐词读取文件，单词到达时即分配顶点编号并累计边的权重，不在内存中拼接整篇文本.
    *
    * @param filename 文件名.
    *                 文件格式为一行文本，包含多个单词，单词之间用空格分隔.
@@ -113,100 +352,179 @@ public class TextGraph {
   public void inputGraph(String filename) {
     // 从文件中读取图
     // ...
+    clear();
+    appendFile(filename);
+  }
+
+  /**
+   * 并行读取多个文件构建图.
+   * 丢弃已有的图，结果与 inputGraph 第一个文件后依次 appendFile 其余文件相同.
+   *
+   * @param files  按顺序排列的文件.
+   * @param loader 并行读取器.
+   */
+  public void inputCorpus(List<Path> files, ParallelCorpusLoader loader) {
     try {
-      File file = new File(FilenameUtils.getPath(filename) + FilenameUtils.getName(filename));
-      List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
-      for (String line : lines) {
-        line = line.replaceAll("[^a-zA-Z ]", " ");  // 将非字母字符替换为空格
-        line = line.toLowerCase(); // 将大写替换为小写
-        String[] words = line.split("\\s+");  // 使用空格分割字符串
-        for (String word : words) { // 遍历每个单词
-          if (!word.isEmpty()) {
-            if (text == null) {
-              text = word; // 初始化文本
-            } else {
-              text = text + " " + word; // 构建符合格式文本
-            }
-            vertices.add(word); // 构建顶点集合
+      if (contexts != null) { // 上下文索引需要跨片段的单词顺序,依次读取
+        clear();
+        for (Path file : files) {
+          try (Reader reader = open(file)) {
+            ingest(reader);
           }
         }
+        return;
       }
+      GraphMetrics.Load load = metrics.startLoad();
+      PartialGraph partial = loader.load(files);
+      load.phase("read"); // 并行分词并合并局部图
+      vertices = partial.vocabulary();
+      adj = partial.graph();
+      vertexCount = vertices.size(); // 顶点数
+      edgeCount = partial.transitions(); // 边数
+      lastVertex = partial.last();
+      lastEdge = -1;
+      bridgeIndex = bridgeIndexEnabled ? new BridgeIndex(adj) : null;
+      view = new GraphSnapshot(vertices, adj, bridgeIndex);
+      graphChanged();
+      load.phase("index");
+      load.finish();
     } catch (IOException e) {
       System.out.println("An error occurred while reading the file.");
       e.printStackTrace();
     }
-    vertexCount = vertices.size(); // 顶点数
-    adj = new int[  vertexCount][  vertexCount]; // 初始化邻接矩阵
-    for (int i = 0; i <   vertexCount; i++) {
-      for (int j = 0; j <   vertexCount; j++) {
-        adj[i][j] = 0; // 初始化邻接矩阵
-      }
+  }
+
+  /**
+   * 使用公共 fork-join 线程池并行读取多个文件构建图.
+   *
+   * @param files 按顺序排列的文件.
+   */
+  public void inputCorpus(List<Path> files) {
+    inputCorpus(files, new ParallelCorpusLoader());
+  }
+
+  /**
+   * 以 UTF-8 读取文件,非法的字节序列替换为 U+FFFD 而不报错.
+   * 替换字符不是字母，与 ParallelCorpusLoader 按字节分词时把非法字节当作分隔符的结果相同.
+   *
+   * @param file 文件.
+   * @return 带缓冲的字符流.
+   * @throws IOException 文件读写异常.
+   */
+  private static Reader open(Path file) throws IOException {
+    return new BufferedReader(new InputStreamReader(Files.newInputStream(file),
+            StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 向已有的图追加文件.
+   * 结果与读取两段文本拼接后的整体相同：已有文本的最后一个单词与追加文本的第一个单词相连.
+   * 只处理新文本，词表、边权重和桥接词索引均增量更新.
+   *
+   * @param filename 文件名.
+   */
+  public void appendFile(String filename) {
+    File file = new File(FilenameUtils.getPath(filename) + FilenameUtils.getName(filename));
+    try (Reader reader = open(file.toPath())) {
+      ingest(reader);
+    } catch (IOException e) {
+      System.out.println("An error occurred while reading the file.");
+      e.printStackTrace();
     }
-    String[] allWords = text.split("\\s+"); // 使用空格分割处理后字符串
-    for (int i = 0; i < allWords.length - 1; i++) {
-      int v =  getIndexOfV(allWords[i]); // 获取顶点索引
-      int w =  getIndexOfV(allWords[i + 1]); // 获取顶点索引
-      adj[v][w]++; // 更新邻接矩阵
-      edgeCount++; // 更新边数
+  }
+
+  /**
+   * 向已有的图追加文本.
+   *
+   * @param text 文本,规则与文件内容相同.
+   */
+  public void appendText(String text) {
+    try {
+      ingest(new StringReader(text));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // StringReader 不会抛出
     }
   }
 
   /**
-   * 获取顶点的索引.
+   * 逐词读取字符流并更新图.
    *
-   * @param word 单词.
-   * @return 单词在顶点数组中对应的索引.
+   * @param reader 字符流.
+   * @throws IOException 文件读写异常.
    */
-  private int getIndexOfV(String word) {
-    // 获取顶点的索引
-    // ...
-    int index = 0;
-    for (String vertex : vertices) {
-      if (vertex.equals(word)) {
-        return index;
+  private void ingest(Reader reader) throws IOException {
+    GraphMetrics.Load load = metrics.startLoad();
+    Tokenizer tokens = new Tokenizer().reset(reader);
+    while (tokens.next()) {
+      int v = tokens.intern(vertices); // 构建顶点词表,只为新单词创建字符串
+      if (lastVertex != -1) {
+        int distinct = adj.edgeCount();
+        int e = adj.addEdge(lastVertex, v, 1); // 更新邻接存储
+        edgeCount++; // 更新边数
+        if (bridgeIndex != null && adj.edgeCount() > distinct) {
+          bridgeIndex.addEdge(lastVertex, v); // 新边加入桥接词索引
+        }
+        if (contexts != null && lastEdge != -1) {
+          contexts.addEdge(lastEdge, e, 1); // 三元组计数
+        }
+        lastEdge = e;
       }
-      index++;
+      lastVertex = v;
     }
-    return -1;
+    load.phase("read"); // 分词、构建词表和邻接存储在同一趟中完成
+    vertexCount = vertices.size(); // 顶点数
+    adj.ensureVertexCount(vertexCount);
+    graphChanged(); // 边权重可能改变
+    load.phase("index");
+    load.finish();
   }
 
   /**
    * 绘制图.
    *
-   * @param especial 特殊边,用于突出显示.
-   *                 二维数组,1表示特殊边,0表示非特殊边.
+   * @param especial 需要突出显示的路径,每条路径为顶点编号序列,可为 null.
    */
-  public void showDirectedGraph(int [][]especial) {
+  public void showDirectedGraph(List<int[]> especial) {
     // 绘制图
-    // ...
-    System.setProperty("org.graphstream.ui", "swing"); // 使用 Swing
-    Graph graph = new SingleGraph("TextGraph");
-    for (String vertex : vertices) {
-      Node node = graph.addNode(vertex);
-      node.setAttribute("ui.label", vertex);
-      node.setAttribute("ui.style", "text-size:20px;");
-    }
-    for (int i = 0; i <   vertexCount; i++) {
-      for (int j = 0; j <   vertexCount; j++) {
-        if (adj[i][j] > 0) {
-          Edge edge = graph.addEdge(i + "-" + j, vertices.toArray()[i].toString(),
-                  vertices.toArray()[j].toString(), true);
-          edge.setAttribute("ui.label", String.valueOf(adj[i][j]));
-          edge.setAttribute("ui.style", "text-size:20px;");
-          if (especial != null && especial[i][j] == 1) {
-            edge.setAttribute("ui.style", "fill-color: red;");
-          }
-        }
-      }
+    // 同一个图只构建一次并保持布局，每次只切换路径上的边的样式
+    if (session == null) {
+      session = new VisualizationSession(snapshot(), MAX_SHOWN_EDGES);
+    }
+    session.highlight(especial);
+    session.show();
+    // 保存图片文件,由离屏渲染器在后台绘制
+    renderGraph(especial, Paths.get("src/main/pic/pic" + picNum.getAndIncrement() + ".png"));
+  }
+
+  /**
+   * 在后台绘制图片并保存为 PNG,不需要显示器.
+   * 同一个图的多次绘制共用缓存的布局，只重新绘制突出显示的路径.
+   *
+   * @param especial 需要突出显示的路径,每条路径为顶点编号序列,可为 null.
+   * @param file     文件路径,已存在时覆盖.
+   * @return 完成时返回文件路径.
+   */
+  public Future<Path> renderGraph(List<int[]> especial, Path file) {
+    if (renderer == null) {
+      GraphSnapshot snapshot = snapshot(); // 后台线程只读取不可变快照
+      renderer = new GraphRenderer(snapshot,
+              EdgeSelection.limit(snapshot.storage(), null, MAX_SHOWN_EDGES), 1600, 1200,
+              Math.max(Runtime.getRuntime().availableProcessors() / 2, 1));
     }
-    graph.display();
-    graph.addAttribute("ui.stylesheet", "node {size: 20px; fill-color: blue; text-size: 20px;}"
-            +
-            "edge {fill-color: black; text-size: 20px;}");
-    graph.addAttribute("ui.quality");
-    graph.addAttribute("ui.antialias");
-    // 保存图片文件
-    graph.addAttribute("ui.screenshot", "src/main/pic/pic" + picNum++ + ".png");
+    return renderer.submit(especial, file);
+  }
+
+  /**
+   * 导出图,不需要图形界面.
+   *
+   * @param file     文件路径,扩展名为 .dot、.gv 或 .graphml.
+   * @param paths    需要突出显示的路径,可为 null.
+   * @param maxEdges 边数超过该值时只导出权重最大的 maxEdges 条边和路径上的边.
+   * @throws IOException 文件读写异常或扩展名不受支持.
+   */
+  public void exportGraph(Path file, List<int[]> paths, int maxEdges) throws IOException {
+    GraphExporter.export(view, EdgeSelection.limit(adj, paths, maxEdges),
+            EdgeSelection.pathEdges(adj, paths), file);
   }
 
   /**
@@ -218,40 +536,195 @@ public class TextGraph {
    * @return 桥接词.
    */
   public String queryBridgeWords(String word1, String word2, boolean isPrint) {
-    // 查询桥接词
-    // ...
-    int v1 = getIndexOfV(word1); // 获取顶点索引
-    int v2 = getIndexOfV(word2); // 获取顶点索引
-    if (v1 == -1) {
-      if (isPrint) {
-        System.out.println("No \"" + word1 + "\" in the graph!");
-      }
-      return null;
+    QueryResult result = bridgeWords(word1, word2);
+    if (isPrint) {
+      print(result);
     }
-    if (v2 == -1) {
-      if (isPrint) {
-        System.out.println("No \"" + word2 + "\" in the graph!");
-      }
+    if (result.status() != QueryResult.Status.OK) {
       return null;
     }
     StringBuilder bridgeWords = new StringBuilder();
-    for (int i = 0; i < vertexCount; i++) {
-      if (adj[v1][i] > 0 && adj[i][v2] > 0) {
-        bridgeWords.append(vertices.toArray()[i]).append(" ");
-      }
+    for (String bridge : result.words()) {
+      bridgeWords.append(bridge).append(" ");
     }
-    if (bridgeWords.isEmpty()) {
-      if (isPrint) {
-        System.out.println("No bridge words from \"" + word1 + "\" to \"" + word2 + "\"!");
+    return bridgeWords.toString();
+  }
+
+  /**
+   * 查询桥接词,不输出.
+   *
+   * @param word1 单词1.
+   * @param word2 单词2.
+   * @return 结构化结果.
+   */
+  public QueryResult bridgeWords(String word1, String word2) {
+    // 查询桥接词
+    // ...
+    long start = metrics.start();
+    try {
+      int v1 = vertices.idOf(word1); // 获取顶点索引
+      int v2 = vertices.idOf(word2); // 获取顶点索引
+      if (v1 == -1) {
+        return QueryResult.missing(QueryResult.Kind.BRIDGE, word1, word2, word1);
       }
-      return null;
+      if (v2 == -1) {
+        return QueryResult.missing(QueryResult.Kind.BRIDGE, word1, word2, word2);
+      }
+      List<String> bridges = new ArrayList<>();
+      for (int bridge : queryBridgeIds(v1, v2)) {
+        bridges.add(vertices.word(bridge));
+      }
+      return QueryResult.bridge(word1, word2, bridges);
+    } finally {
+      metrics.record(GraphMetrics.Operation.BRIDGE, start);
     }
-    if (isPrint) {
-      System.out.println("The bridge words from \"" + word1
-              +
-              "\" to \"" + word2 + "\" are: " + bridgeWords);
+  }
+
+  /**
+   * 以交互界面的格式输出结果.
+   * 经过缓冲写入标准输出，到所有单词的最短路径逐行写出，不先拼接成一个字符串.
+   * 与批量模式一样以 UTF-8 编码，整个进程共用一个输出，每个结果之后刷新.
+   *
+   * @param result 结果.
+   */
+  private static synchronized void print(QueryResult result) {
+    if (console == null || consoleStream != System.out) { // 标准输出被替换时重建
+      consoleStream = System.out;
+      console = new TextResultWriter(new BufferedWriter(
+              new OutputStreamWriter(consoleStream, StandardCharsets.UTF_8)));
+    }
+    try {
+      console.write(result);
+      console.flush(); // 与直接写入标准输出的内容保持顺序,不关闭标准输出
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return bridgeWords.toString();
+  }
+
+  /**
+   * 查询桥接词的顶点编号.
+   * 建立了桥接词索引时求出邻居与入邻居的交集，否则遍历 word1 的出边.
+   *
+   * @param v1 单词1的顶点编号.
+   * @param v2 单词2的顶点编号.
+   * @return 按编号升序排列的桥接词编号,没有时返回空数组.
+   */
+  public int[] queryBridgeIds(int v1, int v2) {
+    return bridgeCache.get(v1, v2, view::bridgeIds).clone(); // 缓存中的数组不交给调用者
+  }
+
+  /**
+   * 设置是否在读取图时建立桥接词索引.
+   * 索引占用约 2E+2V 个整数，使每次桥接词查询只访问两个邻居列表.
+   *
+   * @param enabled 是否建立索引,默认建立.
+   */
+  public void setBridgeIndexEnabled(boolean enabled) {
+    bridgeIndexEnabled = enabled;
+    bridgeIndex = enabled ? new BridgeIndex(adj) : null;
+    view = new GraphSnapshot(vertices, adj, bridgeIndex);
+  }
+
+  /**
+   * 设置两点最短路径的搜索方式.
+   * 默认的 DIJKSTRA 与最短路径树给出相同的路径；BIDIRECTIONAL 和 ALT 访问的顶点更少，
+   * 距离相同，但存在多条等长最短路径时可能选择不同的一条.
+   *
+   * @param mode 搜索方式.
+   */
+  public void setSearchMode(PointToPointSearch.Mode mode) {
+    searchMode = mode;
+    pathCache.invalidate(); // 缓存的路径可能来自另一种方式
+  }
+
+  /**
+   * 设置 ALT 搜索的地标个数.
+   * 图改变后的第一次 ALT 查询时计算地标，需要 2 * count 次单源最短路径搜索，
+   * 占用 2 * count * V 个整数；为 0 时 ALT 按 DIJKSTRA 搜索.
+   *
+   * @param count 地标个数,默认为 0.
+   */
+  public void setLandmarkCount(int count) {
+    landmarkCount = Math.max(count, 0);
+    landmarks = null;
+    searches = searches(adj, null);
+    pathCache.invalidate();
+  }
+
+  /**
+   * 开启或关闭二元上下文索引.
+   * 开启后读入文本时统计相邻三个单词的出现次数，用于 topNext(word1, word2, k)；
+   * 只统计开启之后读入的文本，通常在 inputGraph 之前开启.
+   * 开启时 inputCorpus 依次读取文件而不并行.
+   *
+   * @param enabled 是否开启.
+   */
+  public void setContextIndexEnabled(boolean enabled) {
+    if (enabled != (contexts != null)) {
+      contexts = enabled ? new SparseGraph(0) : null;
+      lastEdge = -1;
+      topK = null;
+    }
+  }
+
+  /**
+   * 图的版本号,每次读取或追加文本后增加.
+   *
+   * @return 版本号.
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * 最短路径结果缓存,可用于查看命中率.
+   *
+   * @return 缓存.
+   */
+  public ResultCache<PathResult> pathCache() {
+    return pathCache;
+  }
+
+  /**
+   * 桥接词结果缓存,可用于查看命中率.
+   *
+   * @return 缓存.
+   */
+  public ResultCache<int[]> bridgeCache() {
+    return bridgeCache;
+  }
+
+  /**
+   * 运行时指标,可注册指标接收者或 JMX.
+   *
+   * @return 指标.
+   */
+  public GraphMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * 当前图的不可变快照,图改变前重复使用.
+   *
+   * @return 快照.
+   */
+  private GraphSnapshot snapshot() {
+    if (frozen == null) {
+      frozen = freeze();
+    }
+    return frozen;
+  }
+
+  /**
+   * 冻结当前图
+   * 复制词表和邻接存储得到不可变快照，之后对本对象的修改不影响快照.
+   *
+   * @return 可被多个线程并发查询的快照.
+   */
+  public GraphSnapshot freeze() {
+    CsrGraph graph = CsrGraph.copyOf(adj);
+    return new GraphSnapshot(vertices.copy(), graph,
+            bridgeIndexEnabled ? new BridgeIndex(graph) : null);
   }
 
   /**
@@ -262,32 +735,97 @@ public class TextGraph {
    * @return 新文本.
    */
   public String generateNewText(String inputText, boolean isPrint) {
+    QueryResult result = newText(inputText);
+    if (isPrint) {
+      print(result);
+    }
+    return result.text();
+  }
+
+  /**
+   * 生成新文本,不输出.
+   *
+   * @param inputText 用户输入的文本.
+   * @return 结构化结果.
+   */
+  public QueryResult newText(String inputText) {
     // 生成新文本
     // 用户输入一行新文本，程序根据之前输入文件生成的图，计算该新文本中两两相邻的单词的bridge word
     // 将bridge word插入新文本的两个单词之间，输出到屏幕上展示
     // 如果两个单词无bridge word，则保持不变，不插入任何单词；
     // 如果两个单词之间存在多个bridge words，则随机从中选择一个插入进去形成新文本
     // ...
-    inputText = inputText.replaceAll("[^a-zA-Z ]", " ");  // 将非字母字符替换为空格
-    inputText = inputText.toLowerCase(); // 将大写替换为小写
-    String[] inputWords = inputText.split("\\s+");  // 使用空格分割字符串
-    StringBuilder newText = new StringBuilder();
-    for (int i = 0; i < inputWords.length - 1; i++) {
-      newText.append(inputWords[i]).append(" ");
-      String bridgeWords = queryBridgeWords(inputWords[i], inputWords[i + 1], false);
-      if (bridgeWords != null) {
-        String []bridgeWordsArray = bridgeWords.split("\\s+");
-        if (bridgeWordsArray.length > 0) {
-          int randomIndex = random.nextInt(bridgeWordsArray.length);
-          newText.append(bridgeWordsArray[randomIndex]).append(" ");
-        }
-      }
+    long start = metrics.start();
+    try {
+      return QueryResult.generated(inputText, view.generateNewText(inputText, random.get()));
+    } finally {
+      metrics.record(GraphMetrics.Operation.GENERATE, start);
     }
-    newText.append(inputWords[inputWords.length - 1]);
-    if (isPrint) {
-      System.out.println("The new text is: " + newText);
+  }
+
+  /**
+   * 顶点数.
+   *
+   * @return 顶点数.
+   */
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * 获取单词的顶点编号.
+   *
+   * @param word 单词.
+   * @return 顶点编号,不在图中时返回 -1.
+   */
+  public int indexOf(String word) {
+    return vertices.idOf(word);
+  }
+
+  /**
+   * 获取顶点编号对应的单词.
+   *
+   * @param index 顶点编号.
+   * @return 单词.
+   */
+  public String wordOf(int index) {
+    return vertices.word(index);
+  }
+
+  /**
+   * 计算单源最短路径树.
+   * 不做任何输出或绘制.
+   *
+   * @param source 源点编号.
+   * @return 最短路径树.
+   */
+  public ShortestPathTree shortestPathTree(int source) {
+    return view.shortestPathTree(source);
+  }
+
+  /**
+   * 计算两点之间的最短路径.
+   * 不做任何输出或绘制.
+   *
+   * @param source 源点编号.
+   * @param target 终点编号.
+   * @return 查询结果.
+   */
+  public PathResult shortestPath(int source, int target) {
+    return pathCache.get(source, target, (u, v) -> search().search(u, v, searchMode));
+  }
+
+  /**
+   * 当前线程的两点搜索状态,ALT 查询且地标未建立时先计算地标.
+   *
+   * @return 搜索状态.
+   */
+  private PointToPointSearch search() {
+    if (searchMode == PointToPointSearch.Mode.ALT && landmarkCount > 0 && landmarks == null) {
+      landmarks = Landmarks.compute(adj, landmarkCount);
+      searches = searches(adj, landmarks);
     }
-    return newText.toString();
+    return searches.get();
   }
 
   /**
@@ -298,153 +836,260 @@ public class TextGraph {
    * @return 最短路径.
    */
   public String calcShortestPath(String word1, String word2) {
+    return calcShortestPath(word1, word2, false);
+  }
+
+  /**
+   * 计算最短路径.
+   * 先计算并输出结果，需要时再把找到的最短路径在图中突出显示.
+   *
+   * @param word1  单词1.
+   * @param word2  单词2,为空时计算 word1 到其他所有单词的最短路径.
+   * @param isShow 是否绘制图并突出显示最短路径.
+   * @return 最短路径.
+   */
+  public String calcShortestPath(String word1, String word2, boolean isShow) {
+    List<int[]> shown = isShow ? new ArrayList<>() : null;
+    QueryResult result = shortestPaths(word1, word2, shown);
+    print(result);
+    if (isShow && result.status() == QueryResult.Status.OK) {
+      showDirectedGraph(shown); // 突出显示所有等长最短路径或整棵最短路径树
+    }
+    if (result.status() != QueryResult.Status.OK || result.target() == null) {
+      return null;
+    }
+    return String.join("->", result.words());
+  }
+
+  /**
+   * 计算最短路径,不输出.
+   *
+   * @param word1 单词1.
+   * @param word2 单词2,为空时计算 word1 到其他所有单词的最短路径.
+   * @return 结构化结果,到所有单词时 target 为 null,按顶点编号排列的结果在 paths 中.
+   */
+  public QueryResult shortestPaths(String word1, String word2) {
+    return shortestPaths(word1, word2, null);
+  }
+
+  /**
+   * 计算最短路径.
+   *
+   * @param shown 不为 null 时加入需要突出显示的路径.
+   */
+  private QueryResult shortestPaths(String word1, String word2, List<int[]> shown) {
     // 计算最短路径
     // 不使用 SimpleGraph 库
     // Dijsktra 算法
     // ...
-    // 如果word2不为null
-    word1 = word1.replaceAll("[^a-zA-Z ]", "");  // 将非字母字符替换
-    word1 = word1.toLowerCase(); // 将大写替换为小写
-    word2 = word2.replaceAll("[^a-zA-Z ]", "");  // 将非字母字符替换
-    word2 = word2.toLowerCase(); // 将大写替换为小写
-    if (word1.isEmpty()) {
-      // 非法word1
-      System.out.println("Invalid word1!");
-      return null;
-    }
-    if (!word2.isEmpty()) {
-      int v1;
-      int v2;
-      v1 =  getIndexOfV(word1); // 获取顶点索引
-      v2 =  getIndexOfV(word2); // 获取顶点索引
-      if (v1 == -1) {
-        System.out.println("No \"" + word1 + "\" in the graph!");
-        return null;
-      }
-      if (v2 == -1) {
-        System.out.println("No \"" + word2 + "\" in the graph!");
-        return null;
-      }
-      int[] dist = new int[  vertexCount];
-      boolean[] visited = new boolean[  vertexCount];
-      int[] path = new int[  vertexCount];
-      for (int i = 0; i <   vertexCount; i++) {
-        dist[i] = Integer.MAX_VALUE;
-        visited[i] = false;
-        path[i] = -1;
+    long start = metrics.start();
+    try {
+      if (shown == null) {
+        return view.shortestPaths(word1, word2, this::shortestPath, this::shortestPathTree);
       }
-      dist[v1] = 0;
-      for (int i = 0; i <   vertexCount; i++) {
-        int minDist = Integer.MAX_VALUE;
-        int u = -1;
-        for (int j = 0; j <   vertexCount; j++) {
-          if (!visited[j] && dist[j] < minDist) {
-            minDist = dist[j];
-            u = j;
-          }
-        }
-        if (u == -1) {
-          break;
+      // 需要突出显示所有等长最短路径或整棵最短路径树时使用完整的最短路径树
+      return view.shortestPaths(word1, word2, (u, v) -> {
+        PathResult result = shortestPathTree(u).result(v);
+        if (result.isReachable()) {
+          shown.addAll(result.allPaths(MAX_SHOWN_PATHS));
         }
-        visited[u] = true;
-        for (int j = 0; j <   vertexCount; j++) {
-          if (!visited[j] && adj[u][j] > 0 && dist[u] + adj[u][j] < dist[j]) {
-            dist[j] = dist[u] + adj[u][j];
-            path[j] = u;
+        return result;
+      }, u -> {
+        ShortestPathTree tree = shortestPathTree(u);
+        for (int i = 0; i < vertexCount; i++) {
+          if (i != u && tree.isReachable(i)) {
+            shown.add(tree.pathTo(i));
           }
         }
-      }
-      if (dist[v2] == Integer.MAX_VALUE) {
-        System.out.println("No path from \"" + word1 + "\" to \"" + word2 + "\"!");
-        return null;
-      }
-      StringBuilder shortestPath = new StringBuilder();
-      int v = v2;
-      int distance = dist[v2];
-      while (v != v1) {
-        shortestPath.insert(0, "->" + vertices.toArray()[v]);
-        v = path[v];
-      }
-      shortestPath.insert(0, vertices.toArray()[v1]);
-      System.out.println("The shortest path from \"" + word1 + "\" to \"" + word2 + "\" "
-              +
-              "is: " + shortestPath + ", with a distance of " + distance + ".");
-      int [][]especial = new int[  vertexCount][  vertexCount];
-      for (int i = 0; i <   vertexCount; i++) {
-        for (int j = 0; j <   vertexCount; j++) {
-          especial[i][j] = 0;
+        return tree;
+      });
+    } finally {
+      metrics.record(GraphMetrics.Operation.PATH, start);
+    }
+  }
+
+  /**
+   * 前 K 个后继和前驱的索引,图改变后或需要更长的列表时重建.
+   *
+   * @param k 每个列表的最小长度.
+   * @return 索引,开启上下文索引时包括二元上下文.
+   */
+  public TopKIndex topKIndex(int k) {
+    if (topK == null || topK.k() < k) {
+      topK = new TopKIndex(adj, contexts, Math.max(k, TOP_K));
+    }
+    return topK;
+  }
+
+  /**
+   * 按边权重查询最常跟在单词之后的单词.
+   *
+   * @param word 单词.
+   * @param k    单词数.
+   * @return 按权重从大到小排列的单词,单词不在图中时为空.
+   */
+  public List<String> topNext(String word, int k) {
+    int v = vertices.idOf(word);
+    return v == -1 ? List.of() : words(topKIndex(k).next(v), k);
+  }
+
+  /**
+   * 按边权重查询最常出现在单词之前的单词.
+   *
+   * @param word 单词.
+   * @param k    单词数.
+   * @return 按权重从大到小排列的单词,单词不在图中时为空.
+   */
+  public List<String> topPrevious(String word, int k) {
+    int v = vertices.idOf(word);
+    return v == -1 ? List.of() : words(topKIndex(k).previous(v), k);
+  }
+
+  /**
+   * 查询原文中最常跟在两个相邻单词之后的单词,需要开启上下文索引.
+   *
+   * @param word1 前一个单词.
+   * @param word2 当前单词.
+   * @param k     单词数.
+   * @return 按出现次数从大到小排列的单词,未开启上下文索引或两个单词未相邻出现时为空.
+   */
+  public List<String> topNext(String word1, String word2, int k) {
+    int u = vertices.idOf(word1);
+    int v = vertices.idOf(word2);
+    return u == -1 || v == -1 ? List.of() : words(topKIndex(k).next(u, v), k);
+  }
+
+  private List<String> words(int[] ids, int k) {
+    List<String> words = new ArrayList<>(Math.min(ids.length, k));
+    for (int i = 0; i < ids.length && i < k; i++) {
+      words.add(vertices.word(ids[i]));
+    }
+    return words;
+  }
+
+  /**
+   * 所有单词对之间的距离,在公共 fork-join 线程池中并行计算,图改变后重新计算.
+   * 距离表（V * V * 每个距离的字节数）超过 64MB 或最大堆内存的 1/8 时，
+   * 写入临时文件并以内存映射方式读取，不占用堆内存；临时文件在虚拟机退出时删除.
+   *
+   * @return 距离,以顶点编号查询.
+   */
+  public AllPairsDistances allPairsDistances() {
+    if (allPairs == null) {
+      GraphStorage graph = snapshot().storage();
+      long limit = Math.min(IN_MEMORY_ALL_PAIRS, Runtime.getRuntime().maxMemory() / 8);
+      if (AllPairsDistances.tableBytes(graph) <= limit) {
+        allPairs = AllPairsDistances.compute(graph, ForkJoinPool.commonPool());
+      } else {
+        try {
+          Path file = Files.createTempFile("textgraph-", ".apsp");
+          file.toFile().deleteOnExit();
+          allPairs = AllPairsDistances.compute(graph, ForkJoinPool.commonPool(), file);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
         }
       }
-      v = v2;
-      while (v != v1) {
-        especial[path[v]][v] = 1;
-        v = path[v];
-      }
-      especial[v1][v2] = 1;
-      showDirectedGraph(especial);
-      return shortestPath.toString();
-    } else {
-      // 计算出word1到图中其他任一单词的最短路径，并逐项展示出来
-      System.out.println(
-              "==================================================================================\n"
-              +
-              "The shortest path from \"" + word1 + "\" to other words are:\n");
-      for (String vertex : vertices) {
-        if (!vertex.equals(word1)) {
-          calcShortestPath(word1, vertex);
+    }
+    return allPairs;
+  }
+
+  /**
+   * 按最短路径距离查询最近的单词.
+   * 只需要一次单源最短路径搜索，不计算所有单词对之间的距离.
+   *
+   * @param word 单词.
+   * @param k    单词数.
+   * @return 按距离升序排列的单词,单词不在图中时为空.
+   */
+  public List<String> nearestWords(String word, int k) {
+    int v = indexOf(word);
+    List<String> words = new ArrayList<>();
+    if (v < 0) {
+      return words;
+    }
+    for (int u : shortestPathTree(v).nearest(k)) {
+      words.add(vertices.word(u));
+    }
+    return words;
+  }
+
+  /**
+   * 获取随机游走引擎,图改变后重建.
+   *
+   * @return 随机游走引擎.
+   */
+  public RandomWalkEngine walkEngine() {
+    if (walkEngine == null) {
+      walkEngine = new RandomWalkEngine(adj);
+    }
+    return walkEngine;
+  }
+
+  /**
+   * 从随机选择的顶点开始随机游走,不输出也不等待.
+   *
+   * @return 结构化结果,图为空时没有单词.
+   */
+  public QueryResult walk() {
+    long start = metrics.start();
+    try {
+      List<String> walk = new ArrayList<>();
+      if (vertexCount > 0) {
+        RandomGenerator random = this.random.get();
+        for (int v : walkEngine().walk(random.nextInt(vertexCount), random)) {
+          walk.add(vertices.word(v));
         }
       }
-      System.out.println(
-              "==================================================================================");
-      return null;
+      return QueryResult.walk(walk);
+    } finally {
+      metrics.record(GraphMetrics.Operation.WALK, start);
     }
   }
 
   /**
    * 随机游走.
+   * 交互式前端：每秒按边权重随机走一步并输出，用户按任意键时停止.
+   * 不需要逐步输出时使用 walk() 或 walkEngine().
    *
    * @return 随机游走的路径.
    * @throws IOException 文件读写异常.
    */
   public String randomWalk() throws IOException {
     // 随机游走
-    // 从图中选择一个节点，以此为起点沿出边进行随机遍历,记录经过的所有节点和边
+    // 从图中选择一个节点，以此为起点沿出边按权重随机遍历,记录经过的所有节点和边
     // 直到出现第一条重复的边为止，或者进入的某个节点不存在出边为止
     // 在遍历过程中，用户也可随时停止遍历
-    int v = random.nextInt(vertexCount);
+    long start = metrics.start();
+    RandomGenerator random = this.random.get();
+    RandomWalkEngine.Walker walker = walkEngine().walker();
+    walker.start(random.nextInt(vertexCount));
+    long walkNanos = System.nanoTime() - start; // 只统计游走本身,不包括输出和等待
     StringBuilder randomWalk = new StringBuilder();
-    randomWalk.append(vertices.toArray()[v]).append(" ");
-    boolean[][] visited = new boolean[  vertexCount][  vertexCount];
-    for (int i = 0; i <   vertexCount; i++) {
-      for (int j = 0; j <   vertexCount; j++) {
-        visited[i][j] = false;
-      }
-    }
+    randomWalk.append(vertices.word(walker.current())).append(" ");
     System.out.println(
             "==================================================================================");
     System.out.println("Press any key to stop.");
     // 键盘读入任意字符时停止
     while (System.in.available() == 0) {
-      int u = -1;
-      for (int i = 0; i <   vertexCount; i++) {
-        if (adj[v][i] > 0 && !visited[v][i]) {
-          u = i;
-          break;
-        }
+      int length = walker.length();
+      long step = metrics.start();
+      boolean more = walker.step(random);
+      walkNanos += System.nanoTime() - step;
+      if (walker.length() == length) {
+        break; // 没有出边
       }
-      if (u == -1) {
-        break;
-      }
-      visited[v][u] = true;
-      randomWalk.append(vertices.toArray()[u]).append(" ");
-      v = u;
+      randomWalk.append(vertices.word(walker.current())).append(" ");
       System.out.print("\rThe random walk is: \t" + randomWalk);
+      if (!more) {
+        break; // 走到了重复的边
+      }
       try {
         Thread.sleep(1000);
       } catch (InterruptedException e) {
         e.printStackTrace();
       }
     }
+    metrics.recordNanos(GraphMetrics.Operation.WALK, walkNanos);
     System.out.println("\nDone!\nThe final random walk is: \t" + randomWalk);
     System.out.println(
             "==================================================================================");
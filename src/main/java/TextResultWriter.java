@@ -0,0 +1,121 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * TextResultWriter 类
+ * 以交互界面中的文字格式写出结果，与 TextGraph 输出到屏幕的内容逐字相同.
+ * 每行以 System.lineSeparator() 结尾，与 println 一致.
+ * 到所有单词的最短路径逐行写入缓冲区，不先拼接成一个字符串.
+ */
+public final class TextResultWriter implements ResultWriter {
+  private static final String RULE =
+          "=================================================================================="; // 分隔线
+  private final Writer out; // 缓冲的输出流
+
+  /**
+   * 构造函数.
+   *
+   * @param out 输出流,不是 BufferedWriter 时自动加上缓冲.
+   */
+  public TextResultWriter(Writer out) {
+    this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+  }
+
+  @Override
+  public void write(QueryResult result) throws IOException {
+    append(out, result);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * 格式化一个结果.
+   *
+   * @param result 结果.
+   * @return 一行或多行文字,以换行结尾.
+   */
+  public static String format(QueryResult result) {
+    StringBuilder text = new StringBuilder();
+    try {
+      append(text, result);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // StringBuilder 不会抛出
+    }
+    return text.toString();
+  }
+
+  private static void append(Appendable text, QueryResult result) throws IOException {
+    String word1 = result.source();
+    String word2 = result.target();
+    switch (result.status()) {
+      case INVALID_WORD:
+        line(text, "Invalid word1!");
+        return;
+      case MISSING_WORD:
+        line(text, "No \"" + result.missing() + "\" in the graph!");
+        return;
+      case ERROR:
+        line(text, "ERROR " + result.text());
+        return;
+      default:
+        break;
+    }
+    switch (result.kind()) {
+      case BRIDGE:
+        if (result.status() == QueryResult.Status.NOT_FOUND) {
+          line(text, "No bridge words from \"" + word1 + "\" to \"" + word2 + "\"!");
+          return;
+        }
+        text.append("The bridge words from \"").append(word1).append("\" to \"").append(word2)
+                .append("\" are: ");
+        for (String bridge : result.words()) {
+          text.append(bridge).append(' ');
+        }
+        line(text, "");
+        return;
+      case GENERATE:
+        line(text, "The new text is: " + result.text());
+        return;
+      case PATH:
+        if (word2 == null) {
+          text.append(RULE).append('\n').append("The shortest path from \"").append(word1)
+                  .append("\" to other words are:\n");
+          line(text, "");
+          for (QueryResult path : result.paths()) {
+            append(text, path);
+          }
+          line(text, RULE);
+          return;
+        }
+        if (result.status() == QueryResult.Status.NOT_FOUND) {
+          line(text, "No path from \"" + word1 + "\" to \"" + word2 + "\"!");
+          return;
+        }
+        text.append("The shortest path from \"").append(word1).append("\" to \"").append(word2)
+                .append("\" is: ").append(String.join("->", result.words()))
+                .append(", with a distance of ").append(Integer.toString(result.distance()))
+                .append('.');
+        line(text, "");
+        return;
+      case WALK:
+        line(text, "The random walk is: " + String.join(" ", result.words()));
+        return;
+      default:
+        throw new IllegalArgumentException("Unknown result kind: " + result.kind());
+    }
+  }
+
+  private static void line(Appendable text, String line) throws IOException {
+    text.append(line).append(System.lineSeparator());
+  }
+}
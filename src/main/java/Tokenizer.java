@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Tokenizer 类
+ * 可复用的手写分词器，只扫描一遍输入，不使用正则表达式.
+ * 切分规则与 replaceAll("[^a-zA-Z ]", " ")、toLowerCase、split("\\s+") 一致：
+ * 连续的英文字母构成一个单词并转为小写，其余字符（包括换行）均视为分隔符.
+ * 当前单词保存在内部的字符数组中，可直接在词表中查找或加入，
+ * 只有加入新单词或调用 token() 时才创建字符串.
+ * 输入可以是字符流、字符序列或字节数组（按 ASCII/UTF-8 处理：多字节字符的每个字节都不是字母）.
+ * 非线程安全，每个线程使用自己的实例.
+ */
+final class Tokenizer {
+  private static final int BUFFER_SIZE = 8192; // 字符流缓冲区大小
+  private char[] word; // 当前单词
+  private int length; // 当前单词长度
+  private Reader reader; // 字符流输入
+  private char[] buffer; // 字符流缓冲区
+  private CharSequence text; // 字符序列输入
+  private byte[] bytes; // 字节输入
+  private int pos; // 读位置
+  private int limit; // 输入结束位置
+  private boolean leadingSeparator; // 输入是否以分隔符开头
+
+  Tokenizer() {
+    word = new char[32];
+    length = 0;
+  }
+
+  /**
+   * 从字符流读取.
+   *
+   * @param reader 字符流,由调用者负责关闭.
+   * @return 本对象.
+   */
+  Tokenizer reset(Reader reader) {
+    clear();
+    this.reader = reader;
+    if (buffer == null) {
+      buffer = new char[BUFFER_SIZE];
+    }
+    return this;
+  }
+
+  /**
+   * 从字符序列读取.
+   *
+   * @param text 字符序列.
+   * @return 本对象.
+   */
+  Tokenizer reset(CharSequence text) {
+    clear();
+    this.text = text;
+    limit = text.length();
+    leadingSeparator = limit > 0 && !isLetter(text.charAt(0));
+    return this;
+  }
+
+  /**
+   * 从字节数组读取.
+   *
+   * @param bytes  字节数组.
+   * @param offset 起始位置.
+   * @param end    结束位置（不含）.
+   * @return 本对象.
+   */
+  Tokenizer reset(byte[] bytes, int offset, int end) {
+    clear();
+    this.bytes = bytes;
+    pos = offset;
+    limit = end;
+    return this;
+  }
+
+  private void clear() {
+    reader = null;
+    text = null;
+    bytes = null;
+    pos = 0;
+    limit = 0;
+    length = 0;
+    leadingSeparator = false;
+  }
+
+  /**
+   * 前进到下一个单词.
+   *
+   * @return 是否还有单词.
+   * @throws IOException 字符流读取异常.
+   */
+  boolean next() throws IOException {
+    length = 0;
+    while (true) {
+      if (pos == limit && !fill()) {
+        return length > 0; // 输入结束
+      }
+      int c = text != null ? text.charAt(pos) : bytes != null ? bytes[pos] : buffer[pos];
+      pos++;
+      if (c >= 'a' && c <= 'z') {
+        append((char) c);
+      } else if (c >= 'A' && c <= 'Z') {
+        append((char) (c + ('a' - 'A'))); // 转为小写
+      } else if (length > 0) {
+        return true; // 遇到分隔符,单词结束
+      }
+    }
+  }
+
+  /**
+   * 字符序列或字节数组输入时的 next(),不声明受检异常.
+   *
+   * @return 是否还有单词.
+   */
+  boolean nextInText() {
+    try {
+      return next();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // 字符序列和字节数组不会抛出
+    }
+  }
+
+  private boolean fill() throws IOException {
+    if (reader == null) {
+      return false;
+    }
+    limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+    pos = 0;
+    return limit > 0;
+  }
+
+  private void append(char c) {
+    if (length == word.length) {
+      word = Arrays.copyOf(word, length * 2);
+    }
+    word[length++] = c;
+  }
+
+  /**
+   * 字符序列输入是否以分隔符开头.
+   * split("\\s+") 在这种情况下会得到一个空的首元素.
+   *
+   * @return 是否以分隔符开头.
+   */
+  boolean hasLeadingSeparator() {
+    return leadingSeparator;
+  }
+
+  /**
+   * 当前单词的字符.
+   *
+   * @return 字符数组,有效长度为 length().
+   */
+  char[] chars() {
+    return word;
+  }
+
+  int length() {
+    return length;
+  }
+
+  /**
+   * 当前单词.
+   *
+   * @return 新建的字符串.
+   */
+  String token() {
+    return new String(word, 0, length);
+  }
+
+  /**
+   * 在词表中查找当前单词,不创建字符串.
+   *
+   * @param vocabulary 词表.
+   * @return 单词编号,不存在时返回 -1.
+   */
+  int lookup(Vocabulary vocabulary) {
+    return vocabulary.idOf(word, 0, length);
+  }
+
+  /**
+   * 获取当前单词的编号,不存在时加入词表.
+   * 只有新单词才创建字符串.
+   *
+   * @param vocabulary 词表.
+   * @return 单词编号.
+   */
+  int intern(Vocabulary vocabulary) {
+    return vocabulary.intern(word, 0, length);
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  /**
+   * 规范化用户输入的单词：去掉字母和空格以外的字符并转为小写.
+   * 与 replaceAll("[^a-zA-Z ]", "") 后 toLowerCase() 的结果相同，
+   * 输入已经规范时直接返回原字符串.
+   *
+   * @param word 单词.
+   * @return 规范化后的单词.
+   */
+  static String normalizeWord(String word) {
+    int i = 0;
+    while (i < word.length() && (word.charAt(i) == ' ' || (word.charAt(i) >= 'a'
+            && word.charAt(i) <= 'z'))) {
+      i++;
+    }
+    if (i == word.length()) {
+      return word;
+    }
+    StringBuilder normalized = new StringBuilder(word.length()).append(word, 0, i);
+    for (; i < word.length(); i++) {
+      char c = word.charAt(i);
+      if (c == ' ' || (c >= 'a' && c <= 'z')) {
+        normalized.append(c);
+      } else if (c >= 'A' && c <= 'Z') {
+        normalized.append((char) (c + ('a' - 'A')));
+      }
+    }
+    return normalized.toString();
+  }
+}
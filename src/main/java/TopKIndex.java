@@ -0,0 +1,192 @@
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * TopKIndex 类
+ * 预先计算的按边权重排序的前 K 个后继和前驱.
+ * 每个顶点的列表按权重从大到小排列，权重相同时编号小的在前，连续保存在共用数组中；
+ * 查询只复制至多 K 个元素，与顶点数和出度无关.
+ * 可选的二元上下文索引以相邻单词对 (u, v) 为键，给出原文中紧跟在 u v 之后的前 K 个单词.
+ * 相邻单词对就是图中的边 u->v，因此上下文以边编号表示：上下文转移图的顶点是单词图的边，
+ * 边 e1 -> e2 的权重是原文中依次出现 e1、e2 两个单词对（即三元组）的次数.
+ * 构建后只读，可被多个线程并发查询.
+ */
+public final class TopKIndex {
+  private static final int[] EMPTY = new int[0]; // 空列表
+  private final GraphStorage graph; // 单词图,用于查找上下文的边编号
+  private final int k; // 每个列表的最大长度
+  private final Lists next; // 后继
+  private final Lists previous; // 前驱
+  private final Lists contexts; // 二元上下文的后继,没有上下文索引时为 null
+
+  /**
+   * 构造函数.
+   *
+   * @param graph 单词图.
+   * @param k     每个列表的最大长度.
+   */
+  public TopKIndex(GraphStorage graph, int k) {
+    this(graph, null, k);
+  }
+
+  /**
+   * 构造函数
+   * 同时建立二元上下文索引.
+   *
+   * @param graph       单词图.
+   * @param transitions 上下文转移图,顶点编号为单词图的边编号,可为 null.
+   * @param k           每个列表的最大长度.
+   */
+  public TopKIndex(GraphStorage graph, GraphStorage transitions, int k) {
+    this.graph = graph;
+    this.k = Math.max(k, 0);
+    next = build(graph, graph.vertexCount(), true, IntUnaryOperator.identity());
+    previous = build(graph, graph.vertexCount(), false, IntUnaryOperator.identity());
+    // 上下文转移图中边的终点是单词图的边,对应的单词是该边的终点
+    contexts = transitions == null ? null
+            : build(transitions, graph.edgeCount(), true, graph::target);
+  }
+
+  public int k() {
+    return k;
+  }
+
+  /**
+   * 前 K 个后继.
+   *
+   * @param v 顶点编号.
+   * @return 后继的顶点编号,按权重从大到小排列.
+   */
+  public int[] next(int v) {
+    return next.items(v);
+  }
+
+  /**
+   * 前 K 个后继的边权重.
+   *
+   * @param v 顶点编号.
+   * @return 与 next(v) 一一对应的权重.
+   */
+  public int[] nextWeights(int v) {
+    return next.weights(v);
+  }
+
+  /**
+   * 前 K 个前驱.
+   *
+   * @param v 顶点编号.
+   * @return 前驱的顶点编号,按权重从大到小排列.
+   */
+  public int[] previous(int v) {
+    return previous.items(v);
+  }
+
+  /**
+   * 前 K 个前驱的边权重.
+   *
+   * @param v 顶点编号.
+   * @return 与 previous(v) 一一对应的权重.
+   */
+  public int[] previousWeights(int v) {
+    return previous.weights(v);
+  }
+
+  /**
+   * 是否建立了二元上下文索引.
+   *
+   * @return 有上下文索引时返回 true.
+   */
+  public boolean hasContexts() {
+    return contexts != null;
+  }
+
+  /**
+   * 紧跟在 u v 之后的前 K 个单词.
+   *
+   * @param u 前一个单词的顶点编号.
+   * @param v 当前单词的顶点编号.
+   * @return 顶点编号,按出现次数从大到小排列;u v 未相邻出现或没有上下文索引时为空.
+   */
+  public int[] next(int u, int v) {
+    int e = contexts == null ? -1 : graph.findEdge(u, v);
+    return e < 0 ? EMPTY : contexts.items(e);
+  }
+
+  /**
+   * 紧跟在 u v 之后的前 K 个单词的出现次数.
+   *
+   * @param u 前一个单词的顶点编号.
+   * @param v 当前单词的顶点编号.
+   * @return 与 next(u, v) 一一对应的次数.
+   */
+  public int[] nextWeights(int u, int v) {
+    int e = contexts == null ? -1 : graph.findEdge(u, v);
+    return e < 0 ? EMPTY : contexts.weights(e);
+  }
+
+  /**
+   * 为每个键选出权重最大的 K 条边.
+   *
+   * @param storage  邻接存储.
+   * @param keys     键的个数,可能多于 storage 的顶点数.
+   * @param outgoing 为 true 时按出边,否则按入边.
+   * @param item     把边另一端的顶点编号映射为列表中的元素.
+   */
+  private Lists build(GraphStorage storage, int keys, boolean outgoing, IntUnaryOperator item) {
+    int[] start = new int[keys + 1];
+    for (int v = 0; v < keys; v++) {
+      int degree = v < storage.vertexCount()
+              ? (outgoing ? storage.outDegree(v) : storage.inDegree(v)) : 0;
+      start[v + 1] = start[v] + Math.min(degree, k);
+    }
+    int[] ids = new int[start[keys]];
+    int[] weights = new int[start[keys]];
+    long[] order = new long[0]; // (权重取反 << 32) | 元素,升序即为所求顺序
+    for (int v = 0; v < keys && v < storage.vertexCount(); v++) {
+      int degree = outgoing ? storage.outDegree(v) : storage.inDegree(v);
+      if (degree == 0 || k == 0) {
+        continue;
+      }
+      if (order.length < degree) {
+        order = new long[Math.max(degree, order.length * 2)];
+      }
+      for (int i = 0; i < degree; i++) {
+        int e = outgoing ? storage.outEdge(v, i) : storage.inEdge(v, i);
+        int other = item.applyAsInt(outgoing ? storage.target(e) : storage.source(e));
+        order[i] = ((long) -storage.weight(e) << 32) | (other & 0xffffffffL);
+      }
+      Arrays.sort(order, 0, degree);
+      for (int i = start[v]; i < start[v + 1]; i++) {
+        long key = order[i - start[v]];
+        ids[i] = (int) key;
+        weights[i] = (int) -(key >> 32);
+      }
+    }
+    return new Lists(start, ids, weights);
+  }
+
+  /**
+   * 按键连续保存的列表.
+   */
+  private static final class Lists {
+    private final int[] start; // 第 v 个列表在 ids 中的起始位置
+    private final int[] ids; // 元素
+    private final int[] weights; // 权重
+
+    private Lists(int[] start, int[] ids, int[] weights) {
+      this.start = start;
+      this.ids = ids;
+      this.weights = weights;
+    }
+
+    private int[] items(int v) {
+      return v < 0 || v + 1 >= start.length ? EMPTY
+              : Arrays.copyOfRange(ids, start[v], start[v + 1]);
+    }
+
+    private int[] weights(int v) {
+      return v < 0 || v + 1 >= start.length ? EMPTY
+              : Arrays.copyOfRange(weights, start[v], start[v + 1]);
+    }
+  }
+}
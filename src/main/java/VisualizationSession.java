@@ -0,0 +1,132 @@
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.implementations.SingleGraph;
+import org.graphstream.ui.view.Viewer;
+
+/**
+ * VisualizationSession 类
+ * 可重复使用的图形界面会话：只构建一次 GraphStream 图并在同一个窗口中显示，
+ * 之后每次查询只切换突出显示的边的样式类，布局保持不变.
+ * 切换的开销与新旧路径的长度成正比，与图的大小无关.
+ * 样式由整个图共用的样式表给出，元素上只设置 ui.class.
+ */
+public final class VisualizationSession implements AutoCloseable {
+  private static final String STYLESHEET = "node {size: 20px; fill-color: blue; text-size: 20px;}"
+          + "edge {fill-color: black; text-size: 20px;}"
+          + "edge.path {fill-color: red;}"; // 所有元素共用的样式表
+  private final GraphSnapshot snapshot; // 不可变的图快照
+  private final Graph graph; // 已构建的 GraphStream 图
+  private final List<Edge> highlighted; // 当前突出显示的边
+  private Viewer viewer; // 窗口,尚未显示时为 null
+
+  /**
+   * 构造函数
+   * 直接遍历邻接存储构建 GraphStream 图，边较多时只加入权重最大的边.
+   *
+   * @param snapshot 不可变的图快照.
+   * @param maxEdges 最多加入的边数,路径上的其他边在突出显示时再加入.
+   */
+  public VisualizationSession(GraphSnapshot snapshot, int maxEdges) {
+    this.snapshot = snapshot;
+    this.highlighted = new ArrayList<>();
+    GraphStorage storage = snapshot.storage();
+    int[] edges = EdgeSelection.limit(storage, null, maxEdges);
+    graph = new SingleGraph("TextGraph");
+    graph.addAttribute("ui.stylesheet", STYLESHEET);
+    graph.addAttribute("ui.quality");
+    graph.addAttribute("ui.antialias");
+    if (edges.length == storage.edgeCount()) {
+      for (int v = 0; v < storage.vertexCount(); v++) { // 显示全图时包括没有边的顶点
+        addNode(snapshot.wordOf(v));
+      }
+    }
+    for (int e : edges) {
+      addEdge(e);
+    }
+  }
+
+  private void addNode(String word) {
+    if (graph.getNode(word) == null) {
+      graph.addNode(word).setAttribute("ui.label", word);
+    }
+  }
+
+  private Edge addEdge(int e) {
+    GraphStorage storage = snapshot.storage();
+    String source = snapshot.wordOf(storage.source(e));
+    String target = snapshot.wordOf(storage.target(e));
+    addNode(source);
+    addNode(target);
+    Edge edge = graph.addEdge("e" + e, source, target, true);
+    edge.setAttribute("ui.label", String.valueOf(storage.weight(e)));
+    return edge;
+  }
+
+  /**
+   * 突出显示路径,取消上一次突出显示的边.
+   *
+   * @param paths 路径,每条为顶点编号序列,可为 null.
+   */
+  public void highlight(List<int[]> paths) {
+    for (Edge edge : highlighted) {
+      edge.removeAttribute("ui.class");
+    }
+    highlighted.clear();
+    if (paths == null) {
+      return;
+    }
+    GraphStorage storage = snapshot.storage();
+    for (int[] path : paths) {
+      for (int i = 0; i + 1 < path.length; i++) {
+        int e = storage.findEdge(path[i], path[i + 1]);
+        if (e < 0) {
+          continue;
+        }
+        Edge edge = graph.getEdge("e" + e);
+        if (edge == null) {
+          edge = addEdge(e); // 未显示的边按需加入
+        }
+        edge.setAttribute("ui.class", "path");
+        highlighted.add(edge);
+      }
+    }
+  }
+
+  /**
+   * 显示窗口,第一次调用时打开,窗口被关闭后再次显示.
+   */
+  public void show() {
+    if (viewer == null) {
+      System.setProperty("org.graphstream.ui", "swing"); // 使用 Swing
+      viewer = graph.display();
+      viewer.setCloseFramePolicy(Viewer.CloseFramePolicy.HIDE_ONLY);
+      return;
+    }
+    SwingUtilities.invokeLater(() -> {
+      Window window = SwingUtilities.getWindowAncestor(viewer.getDefaultView());
+      if (window != null) {
+        window.setVisible(true);
+        window.toFront();
+      }
+    });
+  }
+
+  Graph graph() {
+    return graph;
+  }
+
+  /**
+   * 关闭窗口.
+   */
+  @Override
+  public void close() {
+    if (viewer != null) {
+      viewer.close();
+      viewer = null;
+    }
+  }
+}
@@ -0,0 +1,171 @@
+import java.util.Arrays;
+
+/**
+ * Vocabulary 类
+ * 词表，为每个单词分配稳定的顶点编号.
+ * 编号按单词第一次出现的顺序从 0 开始连续分配，之后不再改变；
+ * 单词到编号用开放寻址哈希表查找，编号到单词用数组直接访问，均为常数时间.
+ */
+public class Vocabulary {
+  private String[] words; // 编号 -> 单词
+  private int[] table; // 哈希表,保存编号,-1 表示空槽
+  private int size; // 单词数
+
+  /**
+   * 构造函数
+   * 初始化空词表.
+   */
+  public Vocabulary() {
+    words = new String[16];
+    table = new int[32];
+    Arrays.fill(table, -1);
+    size = 0;
+  }
+
+  /**
+   * 复制词表.
+   *
+   * @return 与当前词表编号相同的独立副本.
+   */
+  public Vocabulary copy() {
+    Vocabulary copy = new Vocabulary();
+    copy.words = Arrays.copyOf(words, Math.max(size, 1));
+    copy.table = table.clone();
+    copy.size = size;
+    return copy;
+  }
+
+  /**
+   * 单词数.
+   *
+   * @return 单词数.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 获取单词的编号,不存在时加入词表.
+   *
+   * @param word 单词.
+   * @return 单词的编号.
+   */
+  public int intern(String word) {
+    int i = slotOf(word);
+    if (table[i] >= 0) {
+      return table[i];
+    }
+    if (size == words.length) {
+      words = Arrays.copyOf(words, size * 2);
+    }
+    words[size] = word;
+    table[i] = size;
+    size++;
+    if (size * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+    return size - 1;
+  }
+
+  /**
+   * 获取单词的编号.
+   *
+   * @param word 单词.
+   * @return 单词的编号,不存在时返回 -1.
+   */
+  public int idOf(String word) {
+    if (word == null) {
+      return -1;
+    }
+    return table[slotOf(word)];
+  }
+
+  /**
+   * 获取字符数组中单词的编号,不创建字符串.
+   *
+   * @param chars  字符数组.
+   * @param offset 起始位置.
+   * @param length 长度.
+   * @return 单词的编号,不存在时返回 -1.
+   */
+  public int idOf(char[] chars, int offset, int length) {
+    return table[slotOf(chars, offset, length)];
+  }
+
+  /**
+   * 获取字符数组中单词的编号,不存在时加入词表.
+   * 只有新单词才创建字符串.
+   *
+   * @param chars  字符数组.
+   * @param offset 起始位置.
+   * @param length 长度.
+   * @return 单词的编号.
+   */
+  public int intern(char[] chars, int offset, int length) {
+    int i = slotOf(chars, offset, length);
+    return table[i] >= 0 ? table[i] : intern(new String(chars, offset, length));
+  }
+
+  /**
+   * 获取编号对应的单词.
+   *
+   * @param id 单词编号.
+   * @return 单词.
+   */
+  public String word(int id) {
+    return words[id];
+  }
+
+  /**
+   * 线性探测查找单词所在槽位,单词不存在时返回应插入的空槽.
+   */
+  private int slotOf(String word) {
+    int mask = table.length - 1;
+    int i = mix(word.hashCode()) & mask;
+    while (table[i] >= 0 && !words[table[i]].equals(word)) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  /**
+   * 与 slotOf(String) 使用相同的哈希（String.hashCode 的算法），直接比较字符.
+   */
+  private int slotOf(char[] chars, int offset, int length) {
+    int h = 0;
+    for (int k = 0; k < length; k++) {
+      h = 31 * h + chars[offset + k];
+    }
+    int mask = table.length - 1;
+    int i = mix(h) & mask;
+    while (table[i] >= 0 && !matches(words[table[i]], chars, offset, length)) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private static boolean matches(String word, char[] chars, int offset, int length) {
+    if (word.length() != length) {
+      return false;
+    }
+    for (int k = 0; k < length; k++) {
+      if (word.charAt(k) != chars[offset + k]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int mix(int h) {
+    h *= 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private void rehash(int capacity) {
+    table = new int[capacity];
+    Arrays.fill(table, -1);
+    for (int id = 0; id < size; id++) {
+      table[slotOf(words[id])] = id;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AllPairsDistancesTest {
+	@Test
+	void testMatchesSingleSource() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		AllPairsDistances distances = AllPairsDistances.compute(graph.storage(), pool);
+		pool.shutdown();
+
+		for (int s = 0; s < graph.vertexCount(); s++) {
+			ShortestPathTree tree = ShortestPathTree.compute(graph.storage(), s);
+			int[] row = distances.row(s);
+			for (int t = 0; t < graph.vertexCount(); t++) {
+				assertEquals(tree.distance(t), row[t]);
+				assertEquals(tree.distance(t), distances.distance(s, t));
+			}
+		}
+	}
+
+	@Test
+	void testTableBytes() {
+		// 权重之和小于 65535 时每个距离占 2 字节
+		SparseGraph graph = new SparseGraph(3);
+		graph.addEdge(0, 1, 1);
+		assertEquals(3 * 3 * 2, AllPairsDistances.tableBytes(graph));
+		graph.addEdge(1, 2, 70000);
+		assertEquals(3 * 3 * 4, AllPairsDistances.tableBytes(graph));
+	}
+
+	@Test
+	void testNearest() {
+		TextGraph textGraph = new TextGraph();
+		// a->b 1, b->c 1, c->d 1, a->d 1, d->a 1
+		textGraph.appendText("a b c d a d");
+		assertEquals(List.of("b", "d", "c"), textGraph.nearestWords("a", 5));
+		assertEquals(List.of("b", "d"), textGraph.nearestWords("a", 2));
+		assertEquals(List.of(), textGraph.nearestWords("e", 2));
+
+		// 追加文本后重新计算
+		textGraph.appendText("a c");
+		assertEquals(List.of("b", "c", "d"), textGraph.nearestWords("a", 5));
+	}
+
+	@Test
+	void testFileRoundTrip(@TempDir Path dir) throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		Path file = dir.resolve("distances.apsp");
+		AllPairsDistances written = AllPairsDistances.compute(graph.storage(),
+				ForkJoinPool.commonPool(), file);
+		AllPairsDistances read = AllPairsDistances.open(file);
+
+		assertEquals(graph.vertexCount(), read.vertexCount());
+		for (int s = 0; s < graph.vertexCount(); s++) {
+			assertArrayEquals(written.row(s), read.row(s));
+			assertArrayEquals(written.nearest(s, 3), read.nearest(s, 3));
+			assertArrayEquals(ShortestPathTree.compute(graph.storage(), s).nearest(3), read.nearest(s, 3));
+		}
+	}
+}
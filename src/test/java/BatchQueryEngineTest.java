@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchQueryEngineTest {
+	@Test
+	void testResultsInQueryOrder() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		// 查询数超过一个块,检查多线程下结果仍按查询顺序写出
+		StringBuilder queries = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 3000; i++) {
+			if (i % 3 == 0) {
+				queries.append("bridge this a\n");
+				expected.append("is\n");
+			} else if (i % 3 == 1) {
+				queries.append("path with and\n");
+				expected.append("with->commas->and (2)\n");
+			} else {
+				queries.append("bridge cases test\n");
+				expected.append("\n");
+			}
+		}
+		StringWriter out = new StringWriter();
+		BatchQueryEngine engine = new BatchQueryEngine(textGraph.freeze(), 4);
+		BatchQueryEngine.Report report = engine.run(new BufferedReader(new StringReader(queries.toString())), out);
+
+		assertEquals(expected.toString(), out.toString());
+		assertEquals(3000, report.queries());
+	}
+
+	@Test
+	void testSeededOutputIndependentOfThreads() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a x b a y b a z b");
+		GraphSnapshot graph = textGraph.freeze();
+		StringBuilder queries = new StringBuilder();
+		for (int i = 0; i < 3000; i++) {
+			queries.append("generate a b a b a b\n");
+		}
+		StringWriter single = new StringWriter();
+		new BatchQueryEngine(() -> graph, 1, 42).run(new BufferedReader(new StringReader(queries.toString())), single);
+		StringWriter parallel = new StringWriter();
+		new BatchQueryEngine(() -> graph, 4, 42).run(new BufferedReader(new StringReader(queries.toString())), parallel);
+
+		// 指定种子时输出与线程数无关
+		assertEquals(single.toString(), parallel.toString());
+	}
+
+	@Test
+	void testPathStatusMatchesInteractive() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+
+		// 批量模式与交互界面对同一查询给出相同的状态
+		String[][] queries = {{"@", "a"}, {"this", "nothing"}, {"nothing", "this"}, {"with", "and"}, {"this", ""}};
+		for (String[] words : queries) {
+			String query = "path " + words[0] + (words[1].isEmpty() ? "" : " " + words[1]);
+			assertEquals(textGraph.shortestPaths(words[0], words[1]).status(),
+					BatchQueryEngine.query(graph, query, null).status());
+		}
+		assertEquals(QueryResult.Status.INVALID_WORD, BatchQueryEngine.query(graph, "path @ a", null).status());
+	}
+}
@@ -0,0 +1,29 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class BridgeIndexTest {
+	@Test
+	void testIndexMatchesScan() {
+		TextGraph indexed = new TextGraph();
+		indexed.inputGraph("src/main/java/input.txt");
+		TextGraph scanned = new TextGraph();
+		scanned.setBridgeIndexEnabled(false);
+		scanned.inputGraph("src/main/java/input.txt");
+		// 所有单词对的桥接词都应与逐边扫描的结果一致
+		for (int v1 = 0; v1 < indexed.vertexCount(); v1++) {
+			for (int v2 = 0; v2 < indexed.vertexCount(); v2++) {
+				assertArrayEquals(scanned.queryBridgeIds(v1, v2), indexed.queryBridgeIds(v1, v2));
+			}
+		}
+	}
+
+	@Test
+	void testBridgeIds() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		int[] bridges = textGraph.queryBridgeIds(textGraph.indexOf("this"), textGraph.indexOf("a"));
+
+		assertArrayEquals(new int[]{textGraph.indexOf("is")}, bridges);
+	}
+}
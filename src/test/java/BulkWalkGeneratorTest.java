@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkWalkGeneratorTest {
+	@Test
+	void testWalksPerVertex() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		StringWriter out = new StringWriter();
+		long walks = new BulkWalkGenerator(graph, 4).walksPerVertex(3, 10, 42, out);
+
+		String[] lines = out.toString().split("\n");
+		assertEquals(3L * graph.vertexCount(), walks);
+		assertEquals(walks, lines.length);
+		for (int i = 0; i < lines.length; i++) {
+			String[] words = lines[i].split(" ");
+			// 同一起点的游走相邻，长度不超过上限，相邻单词之间有边
+			assertEquals(graph.wordOf(i / 3), words[0]);
+			assertTrue(words.length <= 10);
+			for (int k = 0; k + 1 < words.length; k++) {
+				assertTrue(graph.storage().findEdge(graph.indexOf(words[k]),
+						graph.indexOf(words[k + 1])) >= 0);
+			}
+		}
+	}
+
+	@Test
+	void testSameSeedSameOutput() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		StringWriter single = new StringWriter();
+		new BulkWalkGenerator(graph, 1).totalWalks(10000, Integer.MAX_VALUE, 7, single);
+		StringWriter parallel = new StringWriter();
+		new BulkWalkGenerator(graph, 8).totalWalks(10000, Integer.MAX_VALUE, 7, parallel);
+
+		// 输出与线程数无关
+		assertEquals(single.toString(), parallel.toString());
+		assertEquals(10000, single.toString().split("\n").length);
+	}
+}
@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphExporterTest {
+	@Test
+	void testTopWeight() {
+		SparseGraph graph = new SparseGraph(4);
+		graph.addEdge(0, 1, 5);
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 3, 5);
+		graph.addEdge(3, 0, 7);
+		graph.addEdge(0, 2, 1);
+
+		// 权重相同时保留编号较小的边
+		assertArrayEquals(new int[]{0, 3}, EdgeSelection.topWeight(graph, 2));
+		assertArrayEquals(new int[]{0, 2, 3}, EdgeSelection.topWeight(graph, 3));
+		assertArrayEquals(new int[]{0, 1, 2, 3, 4}, EdgeSelection.topWeight(graph, 10));
+	}
+
+	@Test
+	void testNeighborhood() {
+		SparseGraph graph = new SparseGraph(5);
+		graph.addEdge(0, 1, 1);
+		graph.addEdge(1, 2, 1);
+		graph.addEdge(2, 3, 1);
+		graph.addEdge(3, 4, 1);
+		List<int[]> paths = List.of(new int[]{1, 2});
+
+		assertArrayEquals(new int[]{1}, EdgeSelection.neighborhood(graph, paths, 0));
+		assertArrayEquals(new int[]{0, 1, 2}, EdgeSelection.neighborhood(graph, paths, 1));
+		// 超出上限时保留权重最大的边和路径上的边
+		assertArrayEquals(new int[]{0, 1}, EdgeSelection.limit(graph, paths, 1));
+	}
+
+	@Test
+	void testWriteDot() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b a c");
+		GraphSnapshot graph = textGraph.freeze();
+		GraphStorage storage = graph.storage();
+		List<int[]> paths = List.of(new int[]{graph.indexOf("a"), graph.indexOf("c")});
+		StringWriter out = new StringWriter();
+		GraphExporter.writeDot(graph, EdgeSelection.all(storage), EdgeSelection.pathEdges(storage, paths), out);
+
+		String dot = out.toString();
+		assertTrue(dot.startsWith("digraph TextGraph {"));
+		assertTrue(dot.contains("\"a\" -> \"b\" [label=1];"));
+		assertTrue(dot.contains("\"b\" -> \"a\" [label=1];"));
+		assertTrue(dot.contains("\"a\" -> \"c\" [label=1, color=red];"));
+	}
+
+	@Test
+	void testExportGraph(@TempDir Path dir) throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		Path file = dir.resolve("graph.graphml");
+		textGraph.exportGraph(file, null, Integer.MAX_VALUE);
+
+		String graphMl = Files.readString(file, StandardCharsets.UTF_8);
+		// 每条边一行
+		assertEquals(textGraph.freeze().storage().edgeCount(), graphMl.split("<edge ", -1).length - 1);
+		assertThrows(IOException.class, () -> textGraph.exportGraph(dir.resolve("graph.txt"), null, 10));
+	}
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphFileTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void testSaveAndLoad() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot expected = textGraph.freeze();
+		Path file = dir.resolve("input.tgb");
+		GraphFile.save(expected, file);
+		GraphSnapshot actual = GraphFile.load(file);
+
+		assertEquals(expected.vertexCount(), actual.vertexCount());
+		assertEquals(expected.storage().edgeCount(), actual.storage().edgeCount());
+		for (int v1 = 0; v1 < expected.vertexCount(); v1++) {
+			assertEquals(expected.wordOf(v1), actual.wordOf(v1));
+			assertEquals(v1, actual.indexOf(expected.wordOf(v1)));
+			for (int v2 = 0; v2 < expected.vertexCount(); v2++) {
+				assertEquals(expected.storage().weight(v1, v2), actual.storage().weight(v1, v2));
+				assertArrayEquals(expected.bridgeIds(v1, v2), actual.bridgeIds(v1, v2));
+				assertArrayEquals(expected.shortestPath(v1, v2).path(), actual.shortestPath(v1, v2).path());
+			}
+		}
+	}
+
+	@Test
+	void testRejectUnknownFile() throws IOException {
+		Path file = dir.resolve("bad.tgb");
+		Files.write(file, new byte[64]);
+
+		assertThrows(IOException.class, () -> GraphFile.load(file));
+	}
+
+	@Test
+	void testRejectCorruptCounts() throws IOException {
+		// 魔数和版本号正确,顶点数、边数或单词字节数为负或超出文件长度
+		int[][] counts = {{-1, 0, 0}, {0, -1, 0}, {0, 0, -1}, {Integer.MAX_VALUE, 0, 0}, {1000, 1000, 0}};
+		for (int[] count : counts) {
+			ByteBuffer header = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(GraphFile.MAGIC).putInt(GraphFile.VERSION).putInt(count[0]).putInt(count[1])
+					.putLong(count[2]);
+			Path file = dir.resolve("corrupt.tgb");
+			Files.write(file, header.array());
+
+			IOException e = assertThrows(IOException.class, () -> GraphFile.load(file));
+			assertTrue(e.getMessage().startsWith("Corrupt graph file"));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphMetricsTest {
+	@Test
+	void testQueriesAndLoadsRecorded() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		textGraph.queryBridgeWords("this", "a", false);
+		textGraph.queryBridgeWords("none", "a", false);
+		textGraph.generateNewText("this is test", false);
+		textGraph.calcShortestPath("this", "test");
+
+		GraphMetrics metrics = textGraph.metrics();
+		assertEquals(2, metrics.latency(GraphMetrics.Operation.BRIDGE).count());
+		assertEquals(1, metrics.latency(GraphMetrics.Operation.GENERATE).count());
+		assertEquals(1, metrics.latency(GraphMetrics.Operation.PATH).count());
+		assertEquals(0, metrics.latency(GraphMetrics.Operation.WALK).count());
+		assertEquals(textGraph.vertexCount(), metrics.getVertexCount());
+		assertEquals(1, metrics.getLoadCount());
+		assertEquals(List.of("read", "index"), List.copyOf(metrics.getLastLoadPhaseMillis().keySet()));
+
+		textGraph.appendText("a b");
+		assertEquals(2, metrics.getLoadCount());
+		assertEquals(textGraph.vertexCount(), metrics.getVertexCount());
+	}
+
+	@Test
+	void testPublishToSink() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b a b c");
+		textGraph.queryBridgeWords("a", "a", false);
+		Map<String, Double> gauges = new HashMap<>();
+		Map<String, Long> counters = new HashMap<>();
+		Map<String, LatencyHistogram> histograms = new HashMap<>();
+		textGraph.metrics().addSink(new MetricsSink() {
+			@Override
+			public void counter(String name, long value) {
+				counters.put(name, value);
+			}
+
+			@Override
+			public void gauge(String name, double value) {
+				gauges.put(name, value);
+			}
+
+			@Override
+			public void histogram(String name, LatencyHistogram histogram) {
+				histograms.put(name, histogram);
+			}
+		});
+		textGraph.metrics().publish();
+
+		assertEquals(3.0, gauges.get("graph.vertices"));
+		assertEquals(3.0, gauges.get("graph.edges")); // a->b, b->a, b->c
+		assertEquals(4.0, gauges.get("graph.transitions"));
+		assertTrue(gauges.containsKey("load.phase.read.ms"));
+		assertEquals(1L, counters.get("query.bridge.count"));
+		assertEquals(1, histograms.get("query.bridge").count());
+		assertEquals(0, histograms.get("query.path").count());
+	}
+
+	@Test
+	void testConcurrentRecording() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		IntStream.range(0, 100000).parallel().forEach(i -> histogram.record(i % 100));
+		LatencyHistogram snapshot = histogram.snapshot();
+
+		assertEquals(100000, snapshot.count());
+		assertEquals(99, snapshot.max());
+		assertEquals(49.5, snapshot.mean(), 1e-9);
+		assertEquals(49, snapshot.percentile(50));
+	}
+
+	@Test
+	void testJmx() throws Exception {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b c");
+		textGraph.calcShortestPath("a", "c");
+		ObjectName name = textGraph.metrics().registerMBean("testJmx");
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			assertEquals(3L, server.getAttribute(name, "VertexCount"));
+			TabularData counts = (TabularData) server.getAttribute(name, "QueryCounts");
+			assertEquals(1L, counts.get(new Object[]{"path"}).get("value"));
+			server.invoke(name, "reset", null, null);
+			assertEquals(0L, textGraph.metrics().latency(GraphMetrics.Operation.PATH).count());
+		} finally {
+			server.unregisterMBean(name);
+		}
+	}
+}
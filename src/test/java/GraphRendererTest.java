@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphRendererTest {
+	@Test
+	void testRenderHighlightedPath() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		try (GraphRenderer renderer = new GraphRenderer(graph, EdgeSelection.all(graph.storage()), 400, 300, 1)) {
+			BufferedImage plain = renderer.render(null);
+			int[] path = graph.shortestPath(graph.indexOf("this"), graph.indexOf("test")).path();
+			BufferedImage highlighted = renderer.render(EdgeSelection.pathEdges(graph.storage(), List.of(path)));
+
+			assertEquals(400, plain.getWidth());
+			// 只有突出显示的图片中有红色
+			assertFalse(hasRed(plain));
+			assertTrue(hasRed(highlighted));
+		}
+	}
+
+	@Test
+	void testRenderGraphToFiles(@TempDir Path dir) throws Exception {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		List<Future<Path>> files = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			files.add(textGraph.renderGraph(null, dir.resolve("pic" + i + ".png")));
+		}
+		for (Future<Path> file : files) {
+			assertEquals(1600, ImageIO.read(file.get().toFile()).getWidth());
+		}
+	}
+
+	private static boolean hasRed(BufferedImage image) {
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				int rgb = image.getRGB(x, y);
+				if (((rgb >> 16) & 0xff) > 200 && ((rgb >> 8) & 0xff) < 50 && (rgb & 0xff) < 50) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
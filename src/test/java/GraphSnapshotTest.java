@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GraphSnapshotTest {
+	@Test
+	void testSnapshotMatchesGraph() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot snapshot = textGraph.freeze();
+
+		assertEquals(textGraph.vertexCount(), snapshot.vertexCount());
+		for (int v1 = 0; v1 < snapshot.vertexCount(); v1++) {
+			for (int v2 = 0; v2 < snapshot.vertexCount(); v2++) {
+				assertArrayEquals(textGraph.queryBridgeIds(v1, v2), snapshot.bridgeIds(v1, v2));
+				assertArrayEquals(textGraph.shortestPath(v1, v2).path(), snapshot.shortestPath(v1, v2).path());
+			}
+		}
+	}
+
+	@Test
+	void testConcurrentQueries() throws Exception {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot snapshot = textGraph.freeze();
+		int from = snapshot.indexOf("this");
+		int to = snapshot.indexOf("special");
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(pool.submit(() -> snapshot.shortestPath(from, to).distance()));
+		}
+		for (Future<Integer> result : results) {
+			assertEquals(15, result.get());
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	void testSwap() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot first = textGraph.freeze();
+		GraphHolder holder = new GraphHolder(first);
+		GraphSnapshot second = holder.reload("src/main/java/input2.txt");
+
+		assertSame(second, holder.current());
+		assertEquals(3, holder.current().vertexCount());
+		// 旧快照不受替换影响
+		assertEquals(textGraph.vertexCount(), first.vertexCount());
+	}
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelCorpusLoaderTest {
+	@Test
+	void testMatchesSequentialLoad() {
+		List<Path> files = List.of(Paths.get("src/main/java/input.txt"), Paths.get("src/main/java/input2.txt"),
+						Paths.get("src/main/java/input.txt"));
+		TextGraph sequential = new TextGraph();
+		sequential.inputGraph("src/main/java/input.txt");
+		sequential.appendFile("src/main/java/input2.txt");
+		sequential.appendFile("src/main/java/input.txt");
+		// 片段很小,几乎每个单词都落在片段边界附近
+		for (long chunkSize : new long[]{1, 7, 64, 1 << 20}) {
+			TextGraph parallel = new TextGraph();
+			parallel.inputCorpus(files, new ParallelCorpusLoader(new ForkJoinPool(4), chunkSize));
+
+			assertEquals(sequential.vertexCount(), parallel.vertexCount());
+			GraphSnapshot expected = sequential.freeze();
+			GraphSnapshot actual = parallel.freeze();
+			for (int v1 = 0; v1 < expected.vertexCount(); v1++) {
+				assertEquals(expected.wordOf(v1), actual.wordOf(v1));
+				for (int v2 = 0; v2 < expected.vertexCount(); v2++) {
+					assertEquals(expected.storage().weight(v1, v2), actual.storage().weight(v1, v2));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testMalformedUtf8() throws IOException {
+		// 截断的多字节字符、孤立的后续字节和非法字节都当作分隔符;appendFile 只接受相对路径
+		Path file = Files.createTempFile(Files.createDirectories(Paths.get("target")), "malformed-", ".txt");
+		try {
+			Files.write(file, new byte[]{'a', 'b', (byte) 0xC3, 'c', 'd', ' ', 'e', (byte) 0xFF, 'a', 'b',
+					(byte) 0x80, (byte) 0xE2, (byte) 0x82, 'c', 'd', ' ', 'a', 'b'});
+			TextGraph sequential = new TextGraph();
+			sequential.inputGraph(Paths.get("").toAbsolutePath().relativize(file.toAbsolutePath()).toString());
+			// ab cd e ab cd ab
+			assertEquals(3, sequential.vertexCount());
+			assertEquals(2, sequential.freeze().storage().weight(sequential.indexOf("ab"), sequential.indexOf("cd")));
+
+			for (long chunkSize : new long[]{1, 3, 1 << 20}) {
+				TextGraph parallel = new TextGraph();
+				parallel.inputCorpus(List.of(file), new ParallelCorpusLoader(new ForkJoinPool(2), chunkSize));
+
+				GraphSnapshot expected = sequential.freeze();
+				GraphSnapshot actual = parallel.freeze();
+				assertEquals(expected.vertexCount(), actual.vertexCount());
+				for (int v1 = 0; v1 < expected.vertexCount(); v1++) {
+					assertEquals(expected.wordOf(v1), actual.wordOf(v1));
+					for (int v2 = 0; v2 < expected.vertexCount(); v2++) {
+						assertEquals(expected.storage().weight(v1, v2), actual.storage().weight(v1, v2));
+					}
+				}
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
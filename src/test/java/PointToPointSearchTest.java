@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PointToPointSearchTest {
+	// 源点 0 引出 50 条长为 20 的链, 第 c 条链的第 i 个顶点编号为 1 + c * 20 + i
+	private SparseGraph star() {
+		SparseGraph graph = new SparseGraph(1 + 50 * 20);
+		for (int c = 0; c < 50; c++) {
+			int from = 0;
+			for (int i = 0; i < 20; i++) {
+				int to = 1 + c * 20 + i;
+				graph.addEdge(from, to, 1);
+				from = to;
+			}
+		}
+		return graph;
+	}
+
+	// 路径上相邻顶点之间有边, 权重之和等于距离
+	private void assertValidPath(GraphStorage graph, PathResult result) {
+		int[] path = result.path();
+		assertEquals(result.source(), path[0]);
+		assertEquals(result.target(), path[path.length - 1]);
+		int length = 0;
+		for (int i = 0; i + 1 < path.length; i++) {
+			int weight = -1;
+			for (int k = 0; k < graph.outDegree(path[i]); k++) {
+				int e = graph.outEdge(path[i], k);
+				if (graph.target(e) == path[i + 1]) {
+					weight = graph.weight(e);
+				}
+			}
+			assertTrue(weight > 0);
+			length += weight;
+		}
+		assertEquals(result.distance(), length);
+	}
+
+	@Test
+	void testModesMatchShortestPathTree() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input2.txt");
+		GraphStorage graph = textGraph.freeze().storage();
+		PointToPointSearch search = new PointToPointSearch(graph, Landmarks.compute(graph, 4));
+
+		for (int s = 0; s < graph.vertexCount(); s++) {
+			ShortestPathTree tree = ShortestPathTree.compute(graph, s);
+			for (int t = 0; t < graph.vertexCount(); t++) {
+				// 单向搜索与最短路径树选择同一条路径
+				assertArrayEquals(tree.pathTo(t), search.search(s, t, PointToPointSearch.Mode.DIJKSTRA).path());
+				for (PointToPointSearch.Mode mode : PointToPointSearch.Mode.values()) {
+					PathResult result = search.search(s, t, mode);
+					assertEquals(tree.distance(t), result.distance());
+					if (tree.isReachable(t)) {
+						assertValidPath(graph, result);
+					} else {
+						assertNull(result.path());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void testEarlyExitVisitsFewerVertices() {
+		SparseGraph graph = star();
+		PointToPointSearch search = new PointToPointSearch(graph, Landmarks.compute(graph, 4));
+		int target = 20; // 第 0 条链的末端
+
+		PathResult dijkstra = search.search(0, target, PointToPointSearch.Mode.DIJKSTRA);
+		int settled = search.settled();
+		assertEquals(20, dijkstra.distance());
+		assertTrue(settled < graph.vertexCount());
+
+		// 反向搜索只沿一条链前进, 在链的中点相遇
+		assertEquals(20, search.search(0, target, PointToPointSearch.Mode.BIDIRECTIONAL).distance());
+		assertTrue(search.settled() < settled / 2);
+
+		assertEquals(20, search.search(0, target, PointToPointSearch.Mode.ALT).distance());
+		assertTrue(search.settled() < settled);
+	}
+
+	@Test
+	void testUnreachableAndGrowingGraph() {
+		SparseGraph graph = new SparseGraph(2);
+		graph.addEdge(0, 1, 1);
+		PointToPointSearch search = new PointToPointSearch(graph, null);
+		for (PointToPointSearch.Mode mode : PointToPointSearch.Mode.values()) {
+			PathResult result = search.search(1, 0, mode);
+			assertFalse(result.isReachable());
+			assertEquals(ShortestPathTree.UNREACHABLE, result.distance());
+		}
+
+		// 图增长后按新的顶点数扩容
+		graph.ensureVertexCount(3);
+		graph.addEdge(1, 2, 2);
+		for (PointToPointSearch.Mode mode : PointToPointSearch.Mode.values()) {
+			assertArrayEquals(new int[]{0, 1, 2}, search.search(0, 2, mode).path());
+		}
+	}
+
+	@Test
+	void testTextGraphSearchModes() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		int[][] expected = new int[textGraph.vertexCount()][textGraph.vertexCount()];
+		for (int v1 = 0; v1 < textGraph.vertexCount(); v1++) {
+			for (int v2 = 0; v2 < textGraph.vertexCount(); v2++) {
+				expected[v1][v2] = textGraph.shortestPathTree(v1).distance(v2);
+			}
+		}
+
+		// 地标在第一次 ALT 查询时计算, 追加文本后重新计算
+		textGraph.setLandmarkCount(2);
+		textGraph.inputGraph("src/main/java/input.txt");
+		for (PointToPointSearch.Mode mode : PointToPointSearch.Mode.values()) {
+			textGraph.setSearchMode(mode);
+			for (int v1 = 0; v1 < textGraph.vertexCount(); v1++) {
+				for (int v2 = 0; v2 < textGraph.vertexCount(); v2++) {
+					assertEquals(expected[v1][v2], textGraph.shortestPath(v1, v2).distance());
+				}
+			}
+		}
+
+		textGraph.appendText("landmark");
+		int target = textGraph.indexOf("landmark");
+		for (int v = 0; v < textGraph.vertexCount(); v++) {
+			assertEquals(textGraph.shortestPathTree(v).distance(target), textGraph.shortestPath(v, target).distance());
+		}
+	}
+}
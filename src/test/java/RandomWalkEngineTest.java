@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomWalkEngineTest {
+	@Test
+	void testWeightedSampling() {
+		SparseGraph graph = new SparseGraph(4);
+		graph.addEdge(0, 1, 1);
+		graph.addEdge(0, 2, 3);
+		graph.addEdge(0, 3, 6);
+		RandomWalkEngine engine = new RandomWalkEngine(graph);
+		SplittableRandom random = new SplittableRandom(42);
+		int[] counts = new int[4];
+		int samples = 100000;
+		for (int i = 0; i < samples; i++) {
+			counts[graph.target(engine.nextEdge(0, random))]++;
+		}
+		// 选中概率与边权重成正比
+		assertEquals(0.1, counts[1] / (double) samples, 0.01);
+		assertEquals(0.3, counts[2] / (double) samples, 0.01);
+		assertEquals(0.6, counts[3] / (double) samples, 0.01);
+		assertEquals(-1, engine.nextEdge(1, random));
+	}
+
+	@Test
+	void testWalkStopsAtFirstRepeatedEdge() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphStorage graph = textGraph.freeze().storage();
+		RandomWalkEngine.Walker walker = new RandomWalkEngine(graph).walker();
+		SplittableRandom random = new SplittableRandom(7);
+		for (int start = 0; start < graph.vertexCount(); start++) {
+			walker.walk(start, random, Integer.MAX_VALUE);
+			int[] path = walker.path();
+			assertEquals(start, path[0]);
+			// 除最后一步外不重复走同一条边
+			Set<Integer> edges = new HashSet<>();
+			for (int i = 0; i + 1 < path.length; i++) {
+				int e = graph.findEdge(path[i], path[i + 1]);
+				assertTrue(e >= 0);
+				boolean added = edges.add(e);
+				assertTrue(added || i + 2 == path.length);
+			}
+			int last = path[path.length - 1];
+			// 结束时要么没有出边，要么最后一条边是重复的
+			assertTrue(graph.outDegree(last) == 0 || edges.size() == path.length - 2);
+			assertFalse(walker.step(random));
+		}
+	}
+
+	@Test
+	void testMaxLength() {
+		SparseGraph graph = new SparseGraph(1);
+		graph.addEdge(0, 0, 1);
+		RandomWalkEngine.Walker walker = new RandomWalkEngine(graph).walker();
+		assertEquals(1, walker.walk(0, new SplittableRandom(1), 1));
+		assertEquals(3, walker.walk(0, new SplittableRandom(1), 10)); // 自环走第二次即重复
+	}
+}
@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultCacheTest {
+	@Test
+	void testHitsAndMisses() {
+		ResultCache<String> cache = new ResultCache<>(1 << 10, value -> 1);
+		AtomicInteger loads = new AtomicInteger();
+		for (int i = 0; i < 5; i++) {
+			assertEquals("1-2", cache.get(1, 2, (s, t) -> {
+				loads.incrementAndGet();
+				return s + "-" + t;
+			}));
+		}
+
+		assertEquals(1, loads.get());
+		assertEquals(4, cache.hits());
+		assertEquals(1, cache.misses());
+		assertEquals(0.8, cache.hitRate(), 1e-9);
+	}
+
+	@Test
+	void testWeightBound() {
+		// 每段上限为 64,总权重不超过 1024
+		ResultCache<int[]> cache = new ResultCache<>(1 << 10, value -> value.length);
+		for (int i = 0; i < 10000; i++) {
+			cache.get(i, i, (s, t) -> new int[10]);
+		}
+
+		assertTrue(cache.weight() <= 1 << 10);
+		assertTrue(cache.evictions() > 0);
+		assertEquals(cache.weight() / 10, cache.size());
+	}
+
+	@Test
+	void testInvalidateOnGraphChange() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b c");
+		int a = textGraph.indexOf("a");
+		int c = textGraph.indexOf("c");
+		assertEquals(2, textGraph.shortestPath(a, c).distance());
+		assertEquals(2, textGraph.shortestPath(a, c).distance());
+		assertEquals(1, textGraph.pathCache().hits());
+		long version = textGraph.version();
+
+		// 追加文本后旧结果失效
+		textGraph.appendText("a c");
+		assertTrue(textGraph.version() > version);
+		assertEquals(1, textGraph.shortestPath(a, c).distance());
+		assertArrayEquals(new int[]{a, c}, textGraph.shortestPath(a, c).path());
+		assertArrayEquals(new int[]{textGraph.indexOf("b")}, textGraph.queryBridgeIds(a, c));
+	}
+}
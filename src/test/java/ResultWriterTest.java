@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultWriterTest {
+	@Test
+	void testTextMatchesConsole() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+		PrintStream stdout = System.out;
+		System.setOut(new PrintStream(outContent));
+		try {
+			textGraph.calcShortestPath("this", "@");
+			textGraph.queryBridgeWords("this", "a", true);
+			textGraph.calcShortestPath("semi", "and");
+			textGraph.calcShortestPath("this", ""); // 到所有单词的最短路径逐行写出
+		} finally {
+			System.setOut(stdout);
+		}
+
+		StringWriter text = new StringWriter();
+		try (ResultWriter writer = new TextResultWriter(text)) {
+			writer.write(textGraph.shortestPaths("this", "@"));
+			writer.write(textGraph.bridgeWords("this", "a"));
+			writer.write(textGraph.shortestPaths("semi", "and"));
+			writer.write(textGraph.shortestPaths("this", ""));
+		}
+		assertEquals(outContent.toString(), text.toString());
+	}
+
+	@Test
+	void testJsonLines() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b c");
+		StringWriter json = new StringWriter();
+		try (ResultWriter writer = new JsonLinesResultWriter(json)) {
+			writer.write(textGraph.bridgeWords("a", "c"));
+			writer.write(textGraph.bridgeWords("a", "x"));
+			writer.write(textGraph.shortestPaths("a", "c"));
+			writer.write(textGraph.shortestPaths("c", ""));
+			writer.write(textGraph.newText("\"a\"\tc"));
+		}
+
+		String expected = "{\"kind\":\"bridge\",\"status\":\"ok\",\"source\":\"a\",\"target\":\"c\",\"words\":[\"b\"]}\n"
+				+ "{\"kind\":\"bridge\",\"status\":\"missing_word\",\"source\":\"a\",\"target\":\"x\",\"missing\":\"x\"}\n"
+				+ "{\"kind\":\"path\",\"status\":\"ok\",\"source\":\"a\",\"target\":\"c\",\"words\":[\"a\",\"b\",\"c\"],\"distance\":2}\n"
+				+ "{\"kind\":\"path\",\"status\":\"ok\",\"source\":\"c\",\"paths\":["
+				+ "{\"kind\":\"path\",\"status\":\"not_found\",\"source\":\"c\",\"target\":\"a\"},"
+				+ "{\"kind\":\"path\",\"status\":\"not_found\",\"source\":\"c\",\"target\":\"b\"}]}\n"
+				+ "{\"kind\":\"generate\",\"status\":\"ok\",\"source\":\"\\\"a\\\"\\tc\",\"text\":\" a b c\"}\n";
+		assertEquals(expected, json.toString());
+	}
+
+	@Test
+	void testBatchJsonLines() throws IOException {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		StringWriter json = new StringWriter();
+		BatchQueryEngine engine = new BatchQueryEngine(textGraph.freeze(), 2);
+		engine.run(new BufferedReader(new StringReader("bridge this a\npath with and\nfoo\n")),
+				new JsonLinesResultWriter(json));
+
+		String[] lines = json.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertEquals("{\"kind\":\"bridge\",\"status\":\"ok\",\"source\":\"this\",\"target\":\"a\",\"words\":[\"is\"]}", lines[0]);
+		assertEquals("{\"kind\":\"path\",\"status\":\"ok\",\"source\":\"with\",\"target\":\"and\",\"words\":[\"with\",\"commas\",\"and\"],\"distance\":2}", lines[1]);
+		assertEquals("{\"kind\":null,\"status\":\"error\",\"text\":\"unknown query: foo\"}", lines[2]);
+	}
+
+	@Test
+	void testResultsWithoutPrinting() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b");
+		assertEquals(QueryResult.Status.NOT_FOUND, textGraph.bridgeWords("a", "b").status());
+		assertEquals(QueryResult.Status.NOT_FOUND, textGraph.shortestPaths("b", "a").status());
+		assertEquals(QueryResult.Status.INVALID_WORD, textGraph.shortestPaths("@", "a").status());
+
+		// 每个单词都有出边,游走至少经过两个单词
+		textGraph.appendText("a");
+		assertTrue(textGraph.walk().words().size() >= 2);
+	}
+}
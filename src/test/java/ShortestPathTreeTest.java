@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShortestPathTreeTest {
+	// 0->1->3 与 0->2->3 等长, 0->3 直连更长, 4 不可达
+	private SparseGraph diamond() {
+		SparseGraph graph = new SparseGraph(5);
+		graph.addEdge(0, 1, 1);
+		graph.addEdge(1, 3, 2);
+		graph.addEdge(0, 2, 2);
+		graph.addEdge(2, 3, 1);
+		graph.addEdge(0, 3, 5);
+		return graph;
+	}
+
+	@Test
+	void testPathAndDistance() {
+		PathResult result = ShortestPathTree.compute(diamond(), 0).result(3);
+
+		assertEquals(3, result.distance());
+		assertArrayEquals(new int[]{0, 1, 3}, result.path());
+	}
+
+	@Test
+	void testAllEqualCostPaths() {
+		List<int[]> paths = ShortestPathTree.compute(diamond(), 0).result(3).allPaths(10);
+
+		assertEquals(2, paths.size());
+		assertArrayEquals(new int[]{0, 1, 3}, paths.get(0));
+		assertArrayEquals(new int[]{0, 2, 3}, paths.get(1));
+	}
+
+	@Test
+	void testUnreachable() {
+		PathResult result = ShortestPathTree.compute(diamond(), 0).result(4);
+
+		assertFalse(result.isReachable());
+		assertNull(result.path());
+		assertEquals(0, result.allPaths(10).size());
+	}
+}
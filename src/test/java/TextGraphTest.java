@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class TextGraphTest {
@@ -61,40 +62,40 @@ class TextGraphTest {
 		String expected = "==================================================================================\n" +
 						"The shortest path from \"this\" to other words are:\n" +
 						"\r\n" +
-						"The shortest path from \"this\" to \"uppercase\" is: this->is->a->test->uppercase, with a distance of 7.\r\n" +
-						"The shortest path from \"this\" to \"commas\" is: this->is->a->test->file->with->commas, with a distance of 10.\r\n" +
+						"The shortest path from \"this\" to \"is\" is: this->is, with a distance of 2.\r\n" +
+						"The shortest path from \"this\" to \"a\" is: this->is->a, with a distance of 4.\r\n" +
+						"The shortest path from \"this\" to \"test\" is: this->is->a->test, with a distance of 6.\r\n" +
+						"The shortest path from \"this\" to \"file\" is: this->is->a->test->file, with a distance of 8.\r\n" +
 						"The shortest path from \"this\" to \"for\" is: this->is->a->test->file->for, with a distance of 9.\r\n" +
-						"The shortest path from \"this\" to \"numbers\" is: this->is->a->test->file->with->commas->and->numbers, with a distance of 12.\r\n" +
+						"The shortest path from \"this\" to \"the\" is: this->is->a->test->file->for->the, with a distance of 10.\r\n" +
+						"The shortest path from \"this\" to \"input\" is: this->is->a->test->file->for->the->input, with a distance of 11.\r\n" +
+						"The shortest path from \"this\" to \"text\" is: this->is->a->test->file->for->the->input->text, with a distance of 12.\r\n" +
+						"The shortest path from \"this\" to \"it\" is: this->is->a->test->file->for->the->input->text->it, with a distance of 13.\r\n" +
+						"The shortest path from \"this\" to \"contains\" is: this->is->a->test->file->for->the->input->text->it->contains, with a distance of 14.\r\n" +
+						"The shortest path from \"this\" to \"various\" is: this->is->a->test->file->for->the->input->text->it->contains->various, with a distance of 15.\r\n" +
+						"The shortest path from \"this\" to \"special\" is: this->is->a->test->file->for->the->program->including->empty->lines->special, with a distance of 15.\r\n" +
+						"The shortest path from \"this\" to \"cases\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases, with a distance of 16.\r\n" +
+						"The shortest path from \"this\" to \"to\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to, with a distance of 17.\r\n" +
+						"The shortest path from \"this\" to \"cover\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover, with a distance of 18.\r\n" +
+						"The shortest path from \"this\" to \"different\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover->different, with a distance of 19.\r\n" +
 						"The shortest path from \"this\" to \"scenarios\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover->different->scenarios, with a distance of 20.\r\n" +
+						"The shortest path from \"this\" to \"in\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover->different->scenarios->in, with a distance of 21.\r\n" +
 						"The shortest path from \"this\" to \"program\" is: this->is->a->test->file->for->the->program, with a distance of 11.\r\n" +
+						"The shortest path from \"this\" to \"including\" is: this->is->a->test->file->for->the->program->including, with a distance of 12.\r\n" +
 						"The shortest path from \"this\" to \"empty\" is: this->is->a->test->file->for->the->program->including->empty, with a distance of 13.\r\n" +
-						"The shortest path from \"this\" to \"cover\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover, with a distance of 18.\r\n" +
-						"The shortest path from \"this\" to \"onlyoneword\" is: this->is->a->test->file->with->commas->and->numbers->onlyoneword, with a distance of 13.\r\n" +
+						"The shortest path from \"this\" to \"lines\" is: this->is->a->test->file->for->the->program->including->empty->lines, with a distance of 14.\r\n" +
 						"The shortest path from \"this\" to \"characters\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->characters, with a distance of 16.\r\n" +
-						"The shortest path from \"this\" to \"file\" is: this->is->a->test->file, with a distance of 8.\r\n" +
 						"The shortest path from \"this\" to \"and\" is: this->is->a->test->file->with->commas->and, with a distance of 11.\r\n" +
+						"The shortest path from \"this\" to \"numbers\" is: this->is->a->test->file->with->commas->and->numbers, with a distance of 12.\r\n" +
+						"The shortest path from \"this\" to \"onlyoneword\" is: this->is->a->test->file->with->commas->and->numbers->onlyoneword, with a distance of 13.\r\n" +
 						"The shortest path from \"this\" to \"mixedcase\" is: this->is->a->test->file->with->commas->and->numbers->onlyoneword->mixedcase, with a distance of 14.\r\n" +
-						"The shortest path from \"this\" to \"text\" is: this->is->a->test->file->for->the->input->text, with a distance of 12.\r\n" +
-						"The shortest path from \"this\" to \"semi\" is: this->is->a->test->file->with->commas->and->semi, with a distance of 12.\r\n" +
-						"The shortest path from \"this\" to \"different\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover->different, with a distance of 19.\r\n" +
-						"The shortest path from \"this\" to \"lines\" is: this->is->a->test->file->for->the->program->including->empty->lines, with a distance of 14.\r\n" +
-						"The shortest path from \"this\" to \"a\" is: this->is->a, with a distance of 4.\r\n" +
-						"The shortest path from \"this\" to \"cases\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases, with a distance of 16.\r\n" +
-						"The shortest path from \"this\" to \"including\" is: this->is->a->test->file->for->the->program->including, with a distance of 12.\r\n" +
-						"The shortest path from \"this\" to \"test\" is: this->is->a->test, with a distance of 6.\r\n" +
+						"The shortest path from \"this\" to \"uppercase\" is: this->is->a->test->uppercase, with a distance of 7.\r\n" +
 						"The shortest path from \"this\" to \"lowercase\" is: this->is->a->test->uppercase->lowercase, with a distance of 8.\r\n" +
-						"The shortest path from \"this\" to \"in\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to->cover->different->scenarios->in, with a distance of 21.\r\n" +
-						"The shortest path from \"this\" to \"dots\" is: this->is->a->test->file->with->dots, with a distance of 10.\r\n" +
-						"The shortest path from \"this\" to \"is\" is: this->is, with a distance of 2.\r\n" +
 						"The shortest path from \"this\" to \"repeatedword\" is: this->is->a->test->uppercase->lowercase->repeatedword, with a distance of 9.\r\n" +
-						"The shortest path from \"this\" to \"it\" is: this->is->a->test->file->for->the->input->text->it, with a distance of 13.\r\n" +
-						"The shortest path from \"this\" to \"the\" is: this->is->a->test->file->for->the, with a distance of 10.\r\n" +
-						"The shortest path from \"this\" to \"special\" is: this->is->a->test->file->for->the->program->including->empty->lines->special, with a distance of 15.\r\n" +
-						"The shortest path from \"this\" to \"input\" is: this->is->a->test->file->for->the->input, with a distance of 11.\r\n" +
 						"The shortest path from \"this\" to \"with\" is: this->is->a->test->file->with, with a distance of 9.\r\n" +
-						"The shortest path from \"this\" to \"contains\" is: this->is->a->test->file->for->the->input->text->it->contains, with a distance of 14.\r\n" +
-						"The shortest path from \"this\" to \"various\" is: this->is->a->test->file->for->the->input->text->it->contains->various, with a distance of 15.\r\n" +
-						"The shortest path from \"this\" to \"to\" is: this->is->a->test->file->for->the->program->including->empty->lines->special->cases->to, with a distance of 17.\r\n" +
+						"The shortest path from \"this\" to \"commas\" is: this->is->a->test->file->with->commas, with a distance of 10.\r\n" +
+						"The shortest path from \"this\" to \"dots\" is: this->is->a->test->file->with->dots, with a distance of 10.\r\n" +
+						"The shortest path from \"this\" to \"semi\" is: this->is->a->test->file->with->commas->and->semi, with a distance of 12.\r\n" +
 						"==================================================================================\r\n";
 
 		assertEquals(expected, outContent.toString());
@@ -212,4 +213,45 @@ class TextGraphTest {
 
 		assertEquals(expected, outContent.toString());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testAppendText() {
+		// 分两次追加与一次读取拼接后的文本结果相同
+		TextGraph appended = new TextGraph();
+		appended.inputGraph("src/main/java/input2.txt");
+		appended.appendText("a test of This, is a Test");
+		TextGraph whole = new TextGraph();
+		whole.appendText("this is a a test of This, is a Test");
+
+		assertEquals(whole.vertexCount(), appended.vertexCount());
+		for (int v1 = 0; v1 < whole.vertexCount(); v1++) {
+			for (int v2 = 0; v2 < whole.vertexCount(); v2++) {
+				assertEquals(whole.shortestPath(v1, v2).distance(), appended.shortestPath(v1, v2).distance());
+				assertArrayEquals(whole.queryBridgeIds(v1, v2), appended.queryBridgeIds(v1, v2));
+			}
+		}
+	}
+
+	@Test
+	void testInputGraphTwice() {
+		// 再次读取时从头构建,不与之前的图混在一起
+		textGraph.inputGraph("src/main/java/input2.txt");
+
+		assertEquals(3, textGraph.vertexCount());
+		assertEquals("is", textGraph.wordOf(textGraph.queryBridgeIds(0, 2)[0]));
+	}
+
+	@Test
+	void testSeededGenerateNewText() {
+		// 相同种子生成的新文本相同
+		TextGraph first = new TextGraph(TextGraph.seededRandom(42));
+		first.appendText("a x b a y b a z b");
+		TextGraph second = new TextGraph(TextGraph.seededRandom(42));
+		second.appendText("a x b a y b a z b");
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(first.generateNewText("a b a b a b a b", false),
+					second.generateNewText("a b a b a b a b", false));
+		}
+	}
+}
@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TokenizerTest {
+	private static final String[] SAMPLES = {
+			"To explore strange new worlds,\nTo seek out new life and new civilizations?",
+			"  leading and trailing  ",
+			"don't-stop 2024 bélier ",
+			"",
+			"!!!",
+	};
+
+	@Test
+	void testMatchesRegexSplit() throws IOException {
+		for (String sample : SAMPLES) {
+			// 与原先的正则表达式切分结果一致
+			List<String> expected = new ArrayList<>();
+			for (String word : sample.replaceAll("[^a-zA-Z ]", " ").toLowerCase().split("\\s+")) {
+				if (!word.isEmpty()) {
+					expected.add(word);
+				}
+			}
+			assertEquals(expected, tokens(new Tokenizer().reset(new StringReader(sample))));
+			assertEquals(expected, tokens(new Tokenizer().reset(sample)));
+			byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+			assertEquals(expected, tokens(new Tokenizer().reset(bytes, 0, bytes.length)));
+		}
+	}
+
+	@Test
+	void testLookupAndIntern() {
+		Vocabulary vocabulary = new Vocabulary();
+		Tokenizer tokens = new Tokenizer().reset("New life, new WORLDS");
+		List<Integer> ids = new ArrayList<>();
+		while (tokens.nextInText()) {
+			ids.add(tokens.intern(vocabulary));
+		}
+		assertEquals(Arrays.asList(0, 1, 0, 2), ids);
+		assertEquals("worlds", vocabulary.word(2));
+
+		tokens.reset("life unknown");
+		tokens.nextInText();
+		assertEquals(1, tokens.lookup(vocabulary));
+		tokens.nextInText();
+		assertEquals(-1, tokens.lookup(vocabulary));
+	}
+
+	@Test
+	void testNormalizeWord() {
+		String word = "new life";
+		assertSame(word, Tokenizer.normalizeWord(word));
+		assertEquals("new life", Tokenizer.normalizeWord("New, Life!"));
+		assertEquals("dont", Tokenizer.normalizeWord("don't"));
+	}
+
+	private static List<String> tokens(Tokenizer tokens) throws IOException {
+		List<String> words = new ArrayList<>();
+		while (tokens.next()) {
+			words.add(tokens.token());
+		}
+		return words;
+	}
+}
@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TopKIndexTest {
+	@Test
+	void testSortedByWeight() {
+		TextGraph textGraph = new TextGraph();
+		// a->c 3 次, a->b 2 次, a->d 2 次, a->e 1 次
+		textGraph.appendText("a c a c a c a b a b a d a d a e");
+
+		assertEquals(List.of("c", "b", "d"), textGraph.topNext("a", 3));
+		assertEquals(List.of("c", "b", "d", "e"), textGraph.topNext("a", 10));
+		assertEquals(List.of("a"), textGraph.topNext("c", 3));
+		// 前驱: c->a 3 次, b->a 2 次, d->a 2 次
+		assertEquals(List.of("c", "b"), textGraph.topPrevious("a", 2));
+		assertEquals(List.of(), textGraph.topNext("x", 3));
+		assertArrayEquals(new int[]{3, 2, 2, 1}, textGraph.topKIndex(4).nextWeights(textGraph.indexOf("a")));
+
+		// 追加文本后重建
+		textGraph.appendText("e a e a e a e");
+		assertEquals(List.of("e", "c"), textGraph.topNext("a", 2));
+	}
+
+	@Test
+	void testMatchesFullScan() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		TopKIndex index = new TopKIndex(graph.storage(), 2);
+		GraphStorage storage = graph.storage();
+		for (int v = 0; v < graph.vertexCount(); v++) {
+			int[] next = index.next(v);
+			int[] weights = index.nextWeights(v);
+			assertEquals(Math.min(2, storage.outDegree(v)), next.length);
+			for (int i = 0; i < next.length; i++) {
+				assertEquals(storage.weight(v, next[i]), weights[i]);
+			}
+			// 未选中的后继权重不超过最后一个选中的
+			for (int i = 0; i < storage.outDegree(v); i++) {
+				int e = storage.outEdge(v, i);
+				boolean selected = false;
+				for (int w : next) {
+					selected |= w == storage.target(e);
+				}
+				if (!selected) {
+					assertFalse(storage.weight(e) > weights[weights.length - 1]);
+				}
+			}
+		}
+		assertFalse(index.hasContexts());
+	}
+
+	@Test
+	void testBigramContext() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.setContextIndexEnabled(true);
+		textGraph.appendText("the cat sat the cat ran the cat ran the dog sat");
+
+		assertEquals(List.of("ran", "sat"), textGraph.topNext("the", "cat", 5));
+		assertEquals(List.of("sat"), textGraph.topNext("the", "dog", 5));
+		assertEquals(List.of(), textGraph.topNext("cat", "dog", 5));
+		// 单个单词的后继不受上下文影响
+		assertEquals(List.of("cat", "dog"), textGraph.topNext("the", 5));
+		assertArrayEquals(new int[]{2, 1}, textGraph.topKIndex(5).nextWeights(textGraph.indexOf("the"), textGraph.indexOf("cat")));
+
+		textGraph.setContextIndexEnabled(false);
+		assertEquals(List.of(), textGraph.topNext("the", "cat", 5));
+	}
+}
@@ -0,0 +1,51 @@
+import org.graphstream.graph.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VisualizationSessionTest {
+	@Test
+	void testHighlightTogglesOnlyPathEdges() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.inputGraph("src/main/java/input.txt");
+		GraphSnapshot graph = textGraph.freeze();
+		VisualizationSession session = new VisualizationSession(graph, Integer.MAX_VALUE);
+		int[] first = graph.shortestPath(graph.indexOf("this"), graph.indexOf("test")).path();
+		int[] second = graph.shortestPath(graph.indexOf("with"), graph.indexOf("and")).path();
+
+		session.highlight(List.of(first));
+		assertEquals(first.length - 1, countHighlighted(session));
+		session.highlight(List.of(second));
+		// 上一次的路径不再突出显示
+		assertEquals(second.length - 1, countHighlighted(session));
+		session.highlight(null);
+		assertEquals(0, countHighlighted(session));
+		assertEquals(graph.vertexCount(), session.graph().getNodeCount());
+	}
+
+	@Test
+	void testPathEdgesAddedOnDemand() {
+		TextGraph textGraph = new TextGraph();
+		textGraph.appendText("a b a b c d");
+		GraphSnapshot graph = textGraph.freeze();
+		// 只加入权重最大的一条边
+		VisualizationSession session = new VisualizationSession(graph, 1);
+		assertEquals(1, session.graph().getEdgeCount());
+
+		session.highlight(List.of(new int[]{graph.indexOf("b"), graph.indexOf("c"), graph.indexOf("d")}));
+		assertEquals(3, session.graph().getEdgeCount());
+		assertEquals(2, countHighlighted(session));
+	}
+
+	private static int countHighlighted(VisualizationSession session) {
+		int count = 0;
+		for (Edge edge : session.graph().getEachEdge()) {
+			if (edge.hasAttribute("ui.class")) {
+				count++;
+			}
+		}
+		return count;
+	}
+}